@@ -0,0 +1,81 @@
+package de.skuzzle.semantic;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * Startup cost of a sorted catalog: parsing every line and sorting the result versus
+ * {@link Version.VersionStore#map(File) mapping} a previously written catalog file.
+ * Both variants answer a single lookup so that the mapped variant pages in at least the
+ * part of the file the lookup touches. The file is likely still in the page cache, so
+ * {@code map} measures a warm start.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = { "-Xms4g", "-Xmx4g" })
+public class CatalogBenchmark {
+
+    @Param({ "MIXED", "LONG" })
+    private Mix mix;
+
+    @Param({ "1000000" })
+    private int size;
+
+    private String[] lines;
+    private Version probe;
+    private File file;
+
+    @Setup
+    public void setup() throws IOException {
+        this.lines = this.mix.strings(this.size);
+        this.probe = Version.parseVersion(this.lines[this.size / 2]);
+        final Version.VersionStore.Builder builder = Version.VersionStore.builder();
+        for (final String line : this.lines) {
+            builder.add(Version.parseVersion(line));
+        }
+        final Version.VersionStore store = builder.build();
+        store.sort();
+        this.file = File.createTempFile("versions", ".catalog");
+        store.writeTo(this.file);
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.file.delete();
+    }
+
+    @Benchmark
+    public int parse() {
+        final Version.VersionStore.Builder builder = Version.VersionStore.builder();
+        for (final String line : this.lines) {
+            builder.add(Version.parseVersion(line));
+        }
+        final Version.VersionStore store = builder.build();
+        store.sort();
+        return store.binarySearch(this.probe);
+    }
+
+    @Benchmark
+    public int map() throws IOException {
+        return Version.VersionStore.map(this.file).binarySearch(this.probe);
+    }
+}
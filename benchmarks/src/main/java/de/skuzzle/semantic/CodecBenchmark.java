@@ -0,0 +1,111 @@
+package de.skuzzle.semantic;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * Decoding the compact binary form of {@link Version#writeTo(ByteBuffer)} compared with
+ * decoding the ASCII text of the same versions from a buffer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(VersionInputs.SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CodecBenchmark {
+
+    @Param
+    private Mix mix;
+
+    private Version[] versions;
+    private ByteBuffer compact;
+    private ByteBuffer text;
+    private int[] textLengths;
+
+    @Setup
+    public void setup() {
+        final String[] inputs = this.mix.strings();
+        this.versions = new Version[inputs.length];
+        this.textLengths = new int[inputs.length];
+        int compactLength = 0;
+        int textLength = 0;
+        for (int i = 0; i < inputs.length; ++i) {
+            this.versions[i] = Version.parseVersion(inputs[i]);
+            this.textLengths[i] = inputs[i].length();
+            compactLength += this.versions[i].compactLength();
+            textLength += inputs[i].length();
+        }
+
+        this.compact = ByteBuffer.allocate(compactLength);
+        this.text = ByteBuffer.allocate(textLength);
+        for (int i = 0; i < inputs.length; ++i) {
+            this.versions[i].writeTo(this.compact);
+            this.text.put(inputs[i].getBytes(StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Benchmark
+    public void readCompact(Blackhole bh) {
+        final ByteBuffer src = this.compact.duplicate();
+        src.flip();
+        while (src.hasRemaining()) {
+            bh.consume(Version.readFrom(src));
+        }
+    }
+
+    @Benchmark
+    public void readCompactTrusted(Blackhole bh) {
+        final ByteBuffer src = this.compact.duplicate();
+        src.flip();
+        while (src.hasRemaining()) {
+            bh.consume(Version.readFrom(src, true));
+        }
+    }
+
+    @Benchmark
+    public void readText(Blackhole bh) {
+        final ByteBuffer src = this.text.duplicate();
+        src.flip();
+        for (final int length : this.textLengths) {
+            bh.consume(Version.parseVersion(src, src.position(), length));
+            src.position(src.position() + length);
+        }
+    }
+
+    @Benchmark
+    public void writeCompact(Blackhole bh) {
+        final ByteBuffer dst = this.compact.duplicate();
+        dst.clear();
+        for (final Version version : this.versions) {
+            bh.consume(version.writeTo(dst));
+        }
+    }
+
+    @Benchmark
+    public void writeText(Blackhole bh) {
+        final ByteBuffer dst = this.text.duplicate();
+        dst.clear();
+        for (final Version version : this.versions) {
+            bh.consume(version.encodeAscii(dst));
+        }
+    }
+}
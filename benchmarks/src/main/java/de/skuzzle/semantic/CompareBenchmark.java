@@ -0,0 +1,100 @@
+package de.skuzzle.semantic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vdurmont.semver4j.Semver;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * {@code compareTo} of each input with its successor in the mix.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(VersionInputs.SIZE - 1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class CompareBenchmark {
+
+    @Param
+    private Mix mix;
+
+    private String[] strings;
+    private Version[] versions;
+    private VersionRegEx[] regexVersions;
+    private com.github.zafarkhaja.semver.Version[] javaSemverVersions;
+    private Semver[] semver4jVersions;
+
+    @Setup
+    public void setup() {
+        final String[] inputs = this.mix.strings();
+        this.strings = inputs;
+        this.versions = new Version[inputs.length];
+        this.regexVersions = new VersionRegEx[inputs.length];
+        this.javaSemverVersions = new com.github.zafarkhaja.semver.Version[inputs.length];
+        this.semver4jVersions = new Semver[inputs.length];
+        for (int i = 0; i < inputs.length; ++i) {
+            this.versions[i] = Version.parseVersion(inputs[i]);
+            this.regexVersions[i] = VersionRegEx.parseVersion(inputs[i]);
+            this.javaSemverVersions[i] = com.github.zafarkhaja.semver.Version
+                    .valueOf(inputs[i]);
+            this.semver4jVersions[i] = new Semver(inputs[i]);
+        }
+    }
+
+    @Benchmark
+    public void semanticVersion(Blackhole bh) {
+        final Version[] v = this.versions;
+        for (int i = 1; i < v.length; ++i) {
+            bh.consume(v[i - 1].compareTo(v[i]));
+        }
+    }
+
+    @Benchmark
+    public void semanticVersionStrings(Blackhole bh) {
+        final String[] s = this.strings;
+        for (int i = 1; i < s.length; ++i) {
+            bh.consume(Version.compare(s[i - 1], s[i]));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        final VersionRegEx[] v = this.regexVersions;
+        for (int i = 1; i < v.length; ++i) {
+            bh.consume(v[i - 1].compareTo(v[i]));
+        }
+    }
+
+    @Benchmark
+    public void javaSemver(Blackhole bh) {
+        final com.github.zafarkhaja.semver.Version[] v = this.javaSemverVersions;
+        for (int i = 1; i < v.length; ++i) {
+            bh.consume(v[i - 1].compareTo(v[i]));
+        }
+    }
+
+    @Benchmark
+    public void semver4j(Blackhole bh) {
+        final Semver[] v = this.semver4jVersions;
+        for (int i = 1; i < v.length; ++i) {
+            bh.consume(v[i - 1].compareTo(v[i]));
+        }
+    }
+}
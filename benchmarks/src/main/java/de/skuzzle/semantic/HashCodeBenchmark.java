@@ -0,0 +1,71 @@
+package de.skuzzle.semantic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(VersionInputs.SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class HashCodeBenchmark {
+
+    @Param
+    private Mix mix;
+
+    private Version[] versions;
+    private VersionRegEx[] regexVersions;
+    private com.github.zafarkhaja.semver.Version[] javaSemverVersions;
+
+    @Setup
+    public void setup() {
+        final String[] inputs = this.mix.strings();
+        this.versions = new Version[inputs.length];
+        this.regexVersions = new VersionRegEx[inputs.length];
+        this.javaSemverVersions = new com.github.zafarkhaja.semver.Version[inputs.length];
+        for (int i = 0; i < inputs.length; ++i) {
+            this.versions[i] = Version.parseVersion(inputs[i]);
+            this.regexVersions[i] = VersionRegEx.parseVersion(inputs[i]);
+            this.javaSemverVersions[i] = com.github.zafarkhaja.semver.Version
+                    .valueOf(inputs[i]);
+        }
+    }
+
+    @Benchmark
+    public void semanticVersion(Blackhole bh) {
+        for (final Version version : this.versions) {
+            bh.consume(version.hashCode());
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (final VersionRegEx version : this.regexVersions) {
+            bh.consume(version.hashCode());
+        }
+    }
+
+    @Benchmark
+    public void javaSemver(Blackhole bh) {
+        for (final com.github.zafarkhaja.semver.Version version : this.javaSemverVersions) {
+            bh.consume(version.hashCode());
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package de.skuzzle.semantic;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * Scaling of {@link Version#parallelSort(Version[], java.util.concurrent.Executor)} and
+ * {@link Version#parallelParse(String[], java.util.concurrent.Executor)} with the
+ * amount of threads. Each {@code threads} value runs on a dedicated
+ * {@link ForkJoinPool} of that parallelism, so the machine must provide at least as
+ * many cores for the numbers to be meaningful. {@code arraysParallelSort} is the
+ * baseline of wiring {@link Arrays#parallelSort(Object[], java.util.Comparator)} with
+ * {@link Version#NATURAL_ORDER} by hand.
+ * <p>
+ * Pass {@code -Djava.util.concurrent.ForkJoinPool.common.parallelism=<threads>} when
+ * only running the baseline with a specific parallelism, as it always uses the common
+ * pool.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgs = { "-Xms8g", "-Xmx8g" })
+public class ParallelBenchmark {
+
+    @Param({ "MIXED" })
+    private Mix mix;
+
+    @Param({ "10000000" })
+    private int size;
+
+    @Param({ "1", "4", "16", "64" })
+    private int threads;
+
+    private String[] strings;
+    private Version[] versions;
+    private Version[] copy;
+    private ForkJoinPool pool;
+
+    @Setup
+    public void setup() {
+        this.strings = this.mix.strings(this.size);
+        this.versions = new Version[this.size];
+        Version.parseAll(this.strings, this.versions);
+        this.pool = new ForkJoinPool(this.threads);
+    }
+
+    @Setup(Level.Invocation)
+    public void copy() {
+        this.copy = this.versions.clone();
+    }
+
+    @TearDown
+    public void tearDown() {
+        this.pool.shutdown();
+    }
+
+    @Benchmark
+    public Version[] parallelSort() {
+        Version.parallelSort(this.copy, this.pool);
+        return this.copy;
+    }
+
+    @Benchmark
+    public Version[] arraysParallelSort() {
+        Arrays.parallelSort(this.copy, Version.NATURAL_ORDER);
+        return this.copy;
+    }
+
+    @Benchmark
+    public Version[] parallelParse() {
+        return Version.parallelParse(this.strings, this.pool);
+    }
+}
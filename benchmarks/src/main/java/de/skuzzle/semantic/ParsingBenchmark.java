@@ -0,0 +1,69 @@
+package de.skuzzle.semantic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.vdurmont.semver4j.Semver;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(VersionInputs.SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ParsingBenchmark {
+
+    @Param
+    private Mix mix;
+
+    private String[] inputs;
+
+    @Setup
+    public void setup() {
+        this.inputs = this.mix.strings();
+    }
+
+    @Benchmark
+    public void semanticVersion(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(Version.parseVersion(input));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(VersionRegEx.parseVersion(input));
+        }
+    }
+
+    @Benchmark
+    public void javaSemver(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(com.github.zafarkhaja.semver.Version.valueOf(input));
+        }
+    }
+
+    @Benchmark
+    public void semver4j(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(new Semver(input));
+        }
+    }
+}
@@ -0,0 +1,87 @@
+package de.skuzzle.semantic;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * "Newest stable" and "smallest version &gt;= X" queries answered by a
+ * {@link Version.VersionCatalog} versus a linear scan over {@code compareTo} and
+ * {@code isStable()}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class QueryBenchmark {
+
+    @Param({ "MIXED" })
+    private Mix mix;
+
+    @Param({ "1024", "65536" })
+    private int size;
+
+    private List<Version> versions;
+    private Version.VersionCatalog catalog;
+    private Version probe;
+
+    @Setup
+    public void setup() {
+        final Version[] array = new Version[this.size];
+        Version.parseAll(this.mix.strings(this.size), array);
+        this.versions = new ArrayList<>(Arrays.asList(array));
+        this.catalog = Version.VersionCatalog.of(this.versions);
+        this.catalog.stable();
+        this.probe = array[this.size / 2];
+    }
+
+    @Benchmark
+    public Version scanLatestStable() {
+        Version result = null;
+        for (final Version version : this.versions) {
+            if (version.isStable() && (result == null || version.compareTo(result) > 0)) {
+                result = version;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Version catalogLatestStable() {
+        return this.catalog.latestStable();
+    }
+
+    @Benchmark
+    public Version scanCeiling() {
+        Version result = null;
+        for (final Version version : this.versions) {
+            if (version.compareTo(this.probe) >= 0
+                    && (result == null || version.compareTo(result) < 0)) {
+                result = version;
+            }
+        }
+        return result;
+    }
+
+    @Benchmark
+    public Version catalogCeiling() {
+        return this.catalog.ceiling(this.probe);
+    }
+}
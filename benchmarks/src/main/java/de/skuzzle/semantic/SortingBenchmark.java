@@ -0,0 +1,96 @@
+package de.skuzzle.semantic;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.vdurmont.semver4j.Semver;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * Sorts a copy of {@code size} versions of the mix. The copy is included in
+ * the measurement but is negligible compared to the sort itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class SortingBenchmark {
+
+    @Param
+    private Mix mix;
+
+    @Param({ "32", "1024", "500000" })
+    private int size;
+
+    private Version[] versions;
+    private VersionRegEx[] regexVersions;
+    private com.github.zafarkhaja.semver.Version[] javaSemverVersions;
+    private Semver[] semver4jVersions;
+
+    @Setup
+    public void setup() {
+        final String[] inputs = this.mix.strings(this.size);
+        this.versions = new Version[inputs.length];
+        this.regexVersions = new VersionRegEx[inputs.length];
+        this.javaSemverVersions = new com.github.zafarkhaja.semver.Version[inputs.length];
+        this.semver4jVersions = new Semver[inputs.length];
+        for (int i = 0; i < inputs.length; ++i) {
+            this.versions[i] = Version.parseVersion(inputs[i]);
+            this.regexVersions[i] = VersionRegEx.parseVersion(inputs[i]);
+            this.javaSemverVersions[i] = com.github.zafarkhaja.semver.Version
+                    .valueOf(inputs[i]);
+            this.semver4jVersions[i] = new Semver(inputs[i]);
+        }
+    }
+
+    @Benchmark
+    public Version[] semanticVersion() {
+        final Version[] copy = this.versions.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Version[] semanticVersionRadix() {
+        final Version[] copy = this.versions.clone();
+        Version.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public VersionRegEx[] regex() {
+        final VersionRegEx[] copy = this.regexVersions.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public com.github.zafarkhaja.semver.Version[] javaSemver() {
+        final com.github.zafarkhaja.semver.Version[] copy = this.javaSemverVersions
+                .clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+
+    @Benchmark
+    public Semver[] semver4j() {
+        final Semver[] copy = this.semver4jVersions.clone();
+        Arrays.sort(copy);
+        return copy;
+    }
+}
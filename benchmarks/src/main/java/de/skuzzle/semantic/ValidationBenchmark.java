@@ -0,0 +1,56 @@
+package de.skuzzle.semantic;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.skuzzle.semantic.VersionInputs.Mix;
+
+/**
+ * {@code isValidVersion} against inputs of which roughly a quarter is invalid.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@OperationsPerInvocation(VersionInputs.SIZE)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(2)
+public class ValidationBenchmark {
+
+    @Param
+    private Mix mix;
+
+    private String[] inputs;
+
+    @Setup
+    public void setup() {
+        this.inputs = VersionInputs.withInvalid(this.mix);
+    }
+
+    @Benchmark
+    public void semanticVersion(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(Version.isValidVersion(input));
+        }
+    }
+
+    @Benchmark
+    public void regex(Blackhole bh) {
+        for (final String input : this.inputs) {
+            bh.consume(VersionRegEx.isValidVersion(input));
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package de.skuzzle.semantic;
+
+import java.util.Random;
+
+/**
+ * Deterministic input mixes shared by all benchmarks. Each mix yields {@link #SIZE}
+ * Strings so that a single benchmark invocation iterates over enough distinct inputs
+ * to defeat branch prediction on a single value.
+ */
+final class VersionInputs {
+
+    static final int SIZE = 1024;
+
+    private static final long SEED = 0x5eed;
+
+    private static final String[] PRE_RELEASES = {
+            "alpha", "alpha.1", "alpha.beta", "beta", "beta.2", "beta.11", "rc.1", "rc.2",
+            "SNAPSHOT", "M1", "0.3.7", "x.7.z.92"
+    };
+
+    private static final String[] BUILD_META_DATA = {
+            "build.1", "build.1848", "20130313144700", "exp.sha.5114f85", "001", "linux.x64"
+    };
+
+    enum Mix {
+        /** Only plain {@code X.Y.Z} versions. */
+        PLAIN(100, 0, 0, 0),
+        /** Only versions with pre-release identifiers. */
+        PRE_RELEASE(0, 100, 0, 0),
+        /** Resembles the listing of a typical artifact registry. */
+        MIXED(70, 20, 10, 0),
+        /** Long identifiers in both the pre-release and the build meta data part. */
+        LONG(0, 0, 0, 100);
+
+        private final int plain;
+        private final int preRelease;
+        private final int buildMetaData;
+        private final int longIdentifiers;
+
+        private Mix(int plain, int preRelease, int buildMetaData, int longIdentifiers) {
+            this.plain = plain;
+            this.preRelease = preRelease;
+            this.buildMetaData = buildMetaData;
+            this.longIdentifiers = longIdentifiers;
+        }
+
+        String[] strings() {
+            return strings(SIZE);
+        }
+
+        String[] strings(int count) {
+            final Random random = new Random(SEED);
+            final String[] result = new String[count];
+            for (int i = 0; i < count; ++i) {
+                final int dice = random.nextInt(100);
+                final String core = random.nextInt(20) + "." + random.nextInt(30) + "."
+                        + random.nextInt(50);
+                if (dice < this.plain) {
+                    result[i] = core;
+                } else if (dice < this.plain + this.preRelease) {
+                    result[i] = core + "-" + pick(random, PRE_RELEASES);
+                } else if (dice < this.plain + this.preRelease + this.buildMetaData) {
+                    result[i] = core + "-" + pick(random, PRE_RELEASES)
+                            + "+" + pick(random, BUILD_META_DATA);
+                } else {
+                    assert this.longIdentifiers > 0;
+                    result[i] = core
+                            + "-123a.sdfasd.asd.asdhd.124545f.very.long-prelease.012aid."
+                            + random.nextInt(10000) + "+with.build.md.000112";
+                }
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Strings of which roughly every fourth is not a valid semantic version.
+     */
+    static String[] withInvalid(Mix mix) {
+        final String[] result = mix.strings();
+        final Random random = new Random(SEED);
+        for (int i = 0; i < result.length; ++i) {
+            if (random.nextInt(4) == 0) {
+                final String s = result[i];
+                switch (random.nextInt(3)) {
+                case 0:
+                    result[i] = s.substring(0, s.indexOf('.', s.indexOf('.') + 1));
+                    break;
+                case 1:
+                    result[i] = "0" + s;
+                    break;
+                default:
+                    result[i] = s + "-";
+                }
+            }
+        }
+        return result;
+    }
+
+    private static String pick(Random random, String[] candidates) {
+        return candidates[random.nextInt(candidates.length)];
+    }
+
+    private VersionInputs() {
+        // hidden
+    }
+}
@@ -23,13 +23,46 @@
  */
 package de.skuzzle.semantic;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.ObjectStreamException;
+import java.io.ObjectStreamField;
+import java.io.RandomAccessFile;
 import java.io.Serializable;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.ListIterator;
 import java.util.Locale;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 /**
  * This class is an implementation of the full <em>semantic version 2.0.0</em>
@@ -62,6 +95,13 @@ public final class Version implements Comparable<Version>, Serializable {
 
     private static final String[] EMPTY_ARRAY = new String[0];
 
+    private static final int MAX_IDENTIFIER_POOL_SIZE = 1 << 28;
+
+    // pool from which all identifier parts are obtained during parsing. By default only
+    // the fixed seed identifiers are shared, so nothing is retained for the lifetime of
+    // the JVM just because it has been parsed once
+    private static volatile IdentifierPool identifierPool = new BoundedIdentifierPool(0);
+
     /**
      * The minimum value '0.0.0' for valid versions where all parts are 0 or empty.
      *
@@ -80,12 +120,46 @@ public final class Version implements Comparable<Version>, Serializable {
      * This exception indicates that a version- or a part of a version string could not be
      * parsed according to the semantic version specification.
      *
+     * <p>
+     * Exceptions caused by malformed input record the input, the position and the
+     * offending char and only format their message when it is requested. Capturing of
+     * the stack trace can be disabled globally by setting the system property
+     * {@value #STACKLESS_PROPERTY} to <code>true</code>. This greatly reduces the costs
+     * of rejecting invalid input in case the stack trace is not of any interest.
+     *
      * @author Simon Taddiken
      */
     public static class VersionFormatException extends RuntimeException {
 
         private static final long serialVersionUID = 1L;
 
+        /**
+         * Name of the system property that, when set to <code>true</code>, disables
+         * capturing the stack trace for all VersionFormatExceptions.
+         *
+         * @since 2.2.0
+         */
+        public static final String STACKLESS_PROPERTY =
+                "de.skuzzle.semantic.stacklessExceptions";
+
+        private static final boolean STACKLESS = readStacklessProperty();
+
+        // kinds of failures for which the message is formatted lazily
+        private static final int CUSTOM_MESSAGE = 0;
+        private static final int UNEXPECTED_CHAR = 1;
+        private static final int INCOMPLETE_PART = 2;
+        private static final int ILLEGAL_LEADING_CHAR = 3;
+        private static final int NUMBER_TOO_LARGE = 4;
+
+        private final int kind;
+        private final String input;
+        private final int position;
+        private final int character;
+        private final String part;
+
+        // formatted on first access to getMessage()
+        private transient String formattedMessage;
+
         /**
          * Creates a new VersionFormatException with the given message.
          *
@@ -93,6 +167,114 @@ public final class Version implements Comparable<Version>, Serializable {
          */
         private VersionFormatException(String message) {
             super(message);
+            this.kind = CUSTOM_MESSAGE;
+            this.input = null;
+            this.position = -1;
+            this.character = EOS;
+            this.part = null;
+        }
+
+        /**
+         * Creates a new VersionFormatException which only records the cause of the
+         * failure. The message is formatted lazily when it is requested.
+         *
+         * @param kind The kind of failure.
+         * @param input The input that failed to parse.
+         * @param position The index of the offending char within the input.
+         * @param character The offending char or -1 if the input ended prematurely.
+         * @param part Name of the version part in which the failure occurred.
+         */
+        private VersionFormatException(int kind, String input, int position,
+                int character, String part) {
+            super();
+            this.kind = kind;
+            this.input = input;
+            this.position = position;
+            this.character = character;
+            this.part = part;
+        }
+
+        private static boolean readStacklessProperty() {
+            try {
+                return Boolean.getBoolean(STACKLESS_PROPERTY);
+            } catch (final SecurityException e) {
+                return false;
+            }
+        }
+
+        /**
+         * Gets the input String that could not be parsed. Might be <code>null</code> if
+         * this exception was not caused by a malformed input String.
+         *
+         * @return The malformed input.
+         * @since 2.2.0
+         */
+        public String getInput() {
+            return this.input;
+        }
+
+        /**
+         * Gets the index of the offending char within the {@link #getInput() input}. If
+         * the input ended prematurely, the index is equal to the input's length. Returns
+         * -1 if this exception was not caused by a malformed input String.
+         *
+         * @return The position of the failure within the input.
+         * @since 2.2.0
+         */
+        public int getPosition() {
+            return this.position;
+        }
+
+        /**
+         * Gets the offending char. Returns -1 if the input ended prematurely or if this
+         * exception was not caused by a malformed input String.
+         *
+         * @return The offending char or -1.
+         * @since 2.2.0
+         */
+        public int getOffendingChar() {
+            return this.character;
+        }
+
+        @Override
+        public String getMessage() {
+            if (this.kind == CUSTOM_MESSAGE) {
+                return super.getMessage();
+            }
+            String message = this.formattedMessage;
+            if (message == null) {
+                message = formatMessage();
+                this.formattedMessage = message;
+            }
+            return message;
+        }
+
+        private String formatMessage() {
+            switch (this.kind) {
+            case ILLEGAL_LEADING_CHAR:
+                return String.format("Illegal leading char '%c' in %s part of %s",
+                        this.character, this.part, this.input);
+            case INCOMPLETE_PART:
+                return String.format("Incomplete version part in %s", this.input);
+            case NUMBER_TOO_LARGE:
+                return String.format("Number too large in %s part of %s", this.part,
+                        this.input);
+            default:
+                return String.format("Unexpected char in %s: %c", this.input,
+                        this.character);
+            }
+        }
+
+        /**
+         * Skips capturing the stack trace if the {@link #STACKLESS_PROPERTY} system
+         * property has been set to <code>true</code>.
+         */
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            if (STACKLESS) {
+                return this;
+            }
+            return super.fillInStackTrace();
         }
     }
 
@@ -132,8 +314,28 @@ public final class Version implements Comparable<Version>, Serializable {
         }
     };
 
+    /**
+     * Comparator for natural ordering of version Strings. See
+     * {@link #compare(CharSequence, CharSequence)} for more information.
+     *
+     * @since 2.2.0
+     */
+    public static final Comparator<CharSequence> NATURAL_STRING_ORDER = new Comparator<CharSequence>() {
+
+        @Override
+        public int compare(CharSequence o1, CharSequence o2) {
+            return Version.compare(o1, o2);
+        }
+    };
+
     private static final int TO_STRING_ESTIMATE = 16;
 
+    private static final String[] CORE_PART_NAMES = { "major", "minor", "patch" };
+
+    // valid versions only consist of ASCII chars, for which latin-1 decoding is a plain
+    // byte to char widening
+    private static final Charset LATIN_1 = Charset.forName("ISO-8859-1");
+
     // state machine states for parsing a version string
     private static final int STATE_MAJOR_INIT = 0;
     private static final int STATE_MAJOR_LEADING_ZERO = 1;
@@ -155,38 +357,143 @@ public final class Version implements Comparable<Version>, Serializable {
     private static final int DECIMAL = 10;
 
     private static final int EOS = -1;
+
+    private static final long[] EMPTY_NUMBERS = new long[0];
+
+    // layout of the packed sort key: 20 bits major, 21 bits minor, 21 bits patch and the
+    // lowest bit is set for stable versions. The sign bit always remains 0
+    private static final int PATCH_SHIFT = 1;
+    private static final int MINOR_SHIFT = 22;
+    private static final int MAJOR_SHIFT = 43;
+    private static final int MAX_PACKED_MAJOR = (1 << 20) - 1;
+    private static final int MAX_PACKED_MINOR = (1 << 21) - 1;
+    private static final int MAX_PACKED_PATCH = (1 << 21) - 1;
+    private static final long STABLE_BIT = 1L;
+    private static final long UNPACKED = -1L;
+
+    // radix sort on the packed keys, see #sort(Version[])
+    private static final int RADIX_SORT_THRESHOLD = 64;
+    private static final int RADIX_BITS = 11;
+    private static final int RADIX = 1 << RADIX_BITS;
+    private static final long RADIX_MASK = RADIX - 1;
+
+    // smallest amount of elements per thread for parallel sorting and parsing
+    private static final int PARALLEL_SORT_MIN_CHUNK = 1 << 15;
+    private static final int PARALLEL_PARSE_MIN_CHUNK = 1 << 12;
+
+    // idle threads of the default executor for parallel operations terminate after
+    // this many seconds, see DefaultExecutor
+    private static final long PARALLEL_KEEP_ALIVE_SECONDS = 60;
+
+    // tags of the order preserving byte encoding, see #toSortableBytes
+    private static final int SORTABLE_CORE_LENGTH = 12;
+    private static final byte SORTABLE_END = 0x00;
+    private static final byte SORTABLE_PRESENT = 0x01;
+    private static final byte SORTABLE_ABSENT = 0x02;
+    private static final byte SORTABLE_NUMERIC = 0x01;
+    private static final byte SORTABLE_ALPHANUMERIC = 0x02;
+    private static final int SORTABLE_LONG_LENGTH = 0xFF;
+    private static final String MALFORMED = "malformed sortable bytes";
+
+    // constants of the compact binary form, see #writeTo(DataOutput)
+    private static final int VARINT_SHIFT = 7;
+    private static final int VARINT_MASK = 0x7F;
+    private static final int LAST_VARINT_SHIFT = 63;
+    private static final int VARINT_MORE = 0x80;
+    private static final long MAX_COMPACT_NUMBER = Long.MAX_VALUE >>> 1;
+    private static final int COMPACT_INITIAL_PARTS = 8;
+    private static final String MALFORMED_COMPACT = "malformed compact form";
+    private static final long NUMERIC_OVERFLOW = Long.MAX_VALUE;
     private static final int FAILURE = -2;
+    private static final int CORE_OVERFLOW = -1;
+
+    private static final int HASH_PRIME = 31;
+
+    // Since 2.2.0
+    // The instance fields no longer match the serialized form of previous versions.
+    // These fields are still declared for reading it, see #readObject method. Versions
+    // are now written through the SerializationProxy, see #writeReplace method
+    private static final ObjectStreamField[] serialPersistentFields = {
+            new ObjectStreamField("major", int.class),
+            new ObjectStreamField("minor", int.class),
+            new ObjectStreamField("patch", int.class),
+            new ObjectStreamField("preReleaseParts", String[].class),
+            new ObjectStreamField("buildMetaDataParts", String[].class),
+            // Since 1.1.0 these are only written by versions prior to 1.1.0
+            new ObjectStreamField("preRelease", String.class),
+            new ObjectStreamField("buildMetaData", String.class),
+            // previous versions cached the hash code in this field
+            new ObjectStreamField("hash", int.class)
+    };
 
     private final int major;
     private final int minor;
     private final int patch;
-    private final String[] preReleaseParts;
-    private final String[] buildMetaDataParts;
-
-    // Since 1.1.0
-    // these fields are only necessary for deserializing previous versions
-    // see #readResolve method
-    @Deprecated
-    private String preRelease;
-    @Deprecated
-    private String buildMetaData;
-
-    // store hash code once it has been calculated
-    private static final int NOT_YET_CALCULATED = 2;
-    private static final int HASH_PRIME = 31;
-    private volatile int hash = NOT_YET_CALCULATED;
+
+    // Since 2.2.0
+    // the pre-release and build meta data parts. null for stable versions without build
+    // meta data, so that the most common versions do not carry any arrays
+    private final Identifiers identifiers;
+
+    // Since 2.2.0
+    // order preserving key of major, minor, patch and whether this is a stable version,
+    // or UNPACKED if the numbers are too large
+    private final long sortKey;
+
+    // Since 2.2.0
+    // carries the state read by readObject to readResolve, which the stream invokes on
+    // the same thread right afterwards. See readObject for why it is not kept in a field
+    private static final ThreadLocal<String> DESERIALIZED = new ThreadLocal<String>();
 
     private Version(int major, int minor, int patch, String[] preRelease,
             String[] buildMd) {
+        this(major, minor, patch, preRelease.length == 0 && buildMd.length == 0
+                ? null
+                : new Identifiers(preRelease, buildMd));
+    }
+
+    private Version(int major, int minor, int patch, Identifiers identifiers) {
         checkParams(major, minor, patch);
         this.major = major;
         this.minor = minor;
         this.patch = patch;
-        this.preReleaseParts = preRelease;
-        this.buildMetaDataParts = buildMd;
+        this.identifiers = identifiers;
+        this.sortKey = sortKey(major, minor, patch,
+                identifiers == null || identifiers.preReleaseParts.length == 0);
+    }
+
+    private String[] preReleaseParts() {
+        final Identifiers ids = this.identifiers;
+        return ids == null ? EMPTY_ARRAY : ids.preReleaseParts;
+    }
+
+    private long[] preReleaseNumbers() {
+        final Identifiers ids = this.identifiers;
+        return ids == null ? EMPTY_NUMBERS : ids.preReleaseNumbers;
+    }
+
+    private String[] buildMetaDataParts() {
+        final Identifiers ids = this.identifiers;
+        return ids == null ? EMPTY_ARRAY : ids.buildMetaDataParts;
+    }
+
+    /**
+     * Packs the core numbers into a single non-negative long whose natural order is the
+     * order of the versions, disregarding their pre-release identifiers.
+     */
+    private static long sortKey(int major, int minor, int patch, boolean stable) {
+        if (major > MAX_PACKED_MAJOR || minor > MAX_PACKED_MINOR
+                || patch > MAX_PACKED_PATCH) {
+            return UNPACKED;
+        }
+        return (long) major << MAJOR_SHIFT
+                | (long) minor << MINOR_SHIFT
+                | (long) patch << PATCH_SHIFT
+                | (stable ? STABLE_BIT : 0L);
     }
 
-    private static Version parse(String s, boolean verifyOnly) {
+    private static Version parse(CharSequence s, int from, int to, boolean verifyOnly,
+            boolean collect, List<String> scratch) {
         /*
          * Since 1.1.0:
          *
@@ -194,19 +501,39 @@ public final class Version implements Comparable<Version>, Serializable {
          * faster. Besides that it also does provide better error messages in case a
          * String could not be parsed correctly. Condition and mutation coverage is
          * extremely high to ensure correctness.
+         *
+         * Since 2.2.0:
+         *
+         * The state machine operates directly on a region of the input sequence instead
+         * of copying it into a char array first. If verifyOnly is true, failures are
+         * reported by returning null instead of throwing an exception. The identifier
+         * parts are only collected if collect is true, so that a lenient parse can still
+         * produce the full Version in a single pass. Otherwise the input is only
+         * validated and the shared ZERO instance is returned upon success, so that no
+         * Version is created. The parts are collected into the scratch list which may be
+         * reused across multiple calls. It is only allocated on demand if the caller
+         * passes null.
+         *
+         * Plain versions without pre-release or build meta data are by far the most
+         * common input. They are handled by parsePlain first, which falls back to the
+         * state machine for everything else including malformed input. Thus error
+         * reporting is left entirely to the state machine.
          */
+        final Version plain = parsePlain(s, from, to, collect);
+        if (plain != null) {
+            return plain;
+        }
 
-        // note: getting the char array once is faster than calling charAt multiple times
-        final char[] stream = s.toCharArray();
         int major = 0;
         int minor = 0;
         int patch = 0;
         int state = STATE_MAJOR_INIT;
 
-        List<String> preRelease = null;
-        List<String> buildMd = null;
-        loop: for (int i = 0; i <= stream.length; ++i) {
-            final int c = i < stream.length ? stream[i] : EOS;
+        List<String> parts = collect ? scratch : null;
+        String[] prerelease = EMPTY_ARRAY;
+        String[] buildmetadata = EMPTY_ARRAY;
+        loop: for (int i = from; i <= to; ++i) {
+            final int c = i < to ? s.charAt(i) : EOS;
 
             switch (state) {
 
@@ -220,7 +547,7 @@ public final class Version implements Comparable<Version>, Serializable {
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_MAJOR_LEADING_ZERO:
@@ -231,22 +558,28 @@ public final class Version implements Comparable<Version>, Serializable {
                     if (verifyOnly) {
                         return null;
                     }
-                    throw illegalLeadingChar(s, '0', "major");
+                    throw illegalLeadingChar(s, from, to, i - 1, '0', "major");
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_MAJOR_DEFAULT:
                 if (c >= '0' && c <= '9') {
-                    major = major * DECIMAL + Character.digit(c, DECIMAL);
+                    major = appendCoreDigit(major, c);
+                    if (major == CORE_OVERFLOW) {
+                        if (verifyOnly) {
+                            return null;
+                        }
+                        throw numberTooLarge(s, from, to, i, c, "major");
+                    }
                 } else if (c == '.') {
                     state = STATE_MINOR_INIT;
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
 
@@ -260,7 +593,7 @@ public final class Version implements Comparable<Version>, Serializable {
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_MINOR_LEADING_ZERO:
@@ -271,22 +604,28 @@ public final class Version implements Comparable<Version>, Serializable {
                     if (verifyOnly) {
                         return null;
                     }
-                    throw illegalLeadingChar(s, '0', "minor");
+                    throw illegalLeadingChar(s, from, to, i - 1, '0', "minor");
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_MINOR_DEFAULT:
                 if (c >= '0' && c <= '9') {
-                    minor = minor * DECIMAL + Character.digit(c, DECIMAL);
+                    minor = appendCoreDigit(minor, c);
+                    if (minor == CORE_OVERFLOW) {
+                        if (verifyOnly) {
+                            return null;
+                        }
+                        throw numberTooLarge(s, from, to, i, c, "minor");
+                    }
                 } else if (c == '.') {
                     state = STATE_PATCH_INIT;
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
 
@@ -300,7 +639,7 @@ public final class Version implements Comparable<Version>, Serializable {
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PATCH_LEADING_ZERO:
@@ -315,16 +654,22 @@ public final class Version implements Comparable<Version>, Serializable {
                     if (verifyOnly) {
                         return null;
                     }
-                    throw illegalLeadingChar(s, '0', "patch");
+                    throw illegalLeadingChar(s, from, to, i - 1, '0', "patch");
                 } else if (verifyOnly) {
                     return null;
                 } else {
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PATCH_DEFAULT:
                 if (c >= '0' && c <= '9') {
-                    patch = patch * DECIMAL + Character.digit(c, DECIMAL);
+                    patch = appendCoreDigit(patch, c);
+                    if (patch == CORE_OVERFLOW) {
+                        if (verifyOnly) {
+                            return null;
+                        }
+                        throw numberTooLarge(s, from, to, i, c, "patch");
+                    }
                 } else if (c == '-') {
                     state = STATE_PRERELEASE_INIT;
                 } else if (c == '+') {
@@ -334,20 +679,24 @@ public final class Version implements Comparable<Version>, Serializable {
                     if (verifyOnly) {
                         return null;
                     }
-                    throw unexpectedChar(s, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PRERELEASE_INIT:
 
-                preRelease = verifyOnly ? null : new ArrayList<String>();
-                i = parseID(stream, s, i, verifyOnly, false, true, preRelease,
+                if (collect && parts == null) {
+                    parts = new ArrayList<String>();
+                }
+                i = parseID(s, from, to, i, verifyOnly, false, true, parts,
                         "pre-release");
                 if (i == FAILURE) {
                     // implies verifyOnly == true, otherwise exception would have been
                     // thrown
                     return null;
+                } else if (collect) {
+                    prerelease = drain(parts);
                 }
-                final int c1 = i < stream.length ? stream[i] : EOS;
+                final int c1 = i < to ? s.charAt(i) : EOS;
 
                 if (c1 == '+') {
                     state = STATE_BUILDMD_INIT;
@@ -357,13 +706,17 @@ public final class Version implements Comparable<Version>, Serializable {
                 break;
 
             case STATE_BUILDMD_INIT:
-                buildMd = verifyOnly ? null : new ArrayList<String>();
-                i = parseID(stream, s, i, verifyOnly, true, false, buildMd,
+                if (collect && parts == null) {
+                    parts = new ArrayList<String>();
+                }
+                i = parseID(s, from, to, i, verifyOnly, true, false, parts,
                         "build-meta-data");
                 if (i == FAILURE) {
                     // implies verifyOnly == true, otherwise exception would have been
                     // thrown
                     return null;
+                } else if (collect) {
+                    buildmetadata = drain(parts);
                 }
 
                 break loop;
@@ -371,36 +724,104 @@ public final class Version implements Comparable<Version>, Serializable {
                 throw new IllegalStateException("Illegal state: " + state);
             }
         }
-        final String[] prerelease = preRelease == null ? EMPTY_ARRAY
-                : preRelease.toArray(new String[preRelease.size()]);
-        final String[] buildmetadata = buildMd == null ? EMPTY_ARRAY
-                : buildMd.toArray(new String[buildMd.size()]);
+        if (!collect) {
+            return ZERO;
+        }
         return new Version(major, minor, patch, prerelease, buildmetadata);
     }
 
-    private static int parseID(char[] stream, String full, int start, boolean verifyOnly,
-            boolean allowLeading0, boolean preRelease, List<String> parts,
-            String partName) {
+    /**
+     * Appends a decimal digit to a non-negative major, minor or patch part. Returns
+     * CORE_OVERFLOW if the result does not fit into an int.
+     */
+    private static int appendCoreDigit(int value, int c) {
+        final int digit = c - '0';
+        if (value > (Integer.MAX_VALUE - digit) / DECIMAL) {
+            return CORE_OVERFLOW;
+        }
+        return value * DECIMAL + digit;
+    }
 
-        assert verifyOnly || parts != null;
+    private static String[] drain(List<String> parts) {
+        final String[] result = parts.toArray(new String[parts.size()]);
+        parts.clear();
+        return result;
+    }
 
-        final StringBuilder b = verifyOnly
-                ? null
-                : new StringBuilder(stream.length - start);
+    /**
+     * Parses a version that only consists of the three numeric parts. Returns null
+     * if the input has any other form or if a number does not fit into an int. If
+     * collect is false, ZERO is returned instead of creating the Version.
+     */
+    private static Version parsePlain(CharSequence s, int from, int to,
+            boolean collect) {
+        int major = 0;
+        int minor = 0;
+        int patch = 0;
+        int i = from;
+        for (int part = 0;; ++part) {
+            final int start = i;
+            int value = 0;
+            while (i < to) {
+                final char c = s.charAt(i);
+                if (c < '0' || c > '9') {
+                    break;
+                }
+                value = appendCoreDigit(value, c);
+                if (value == CORE_OVERFLOW) {
+                    // let the slow path report it
+                    return null;
+                }
+                ++i;
+            }
+
+            final int digits = i - start;
+            if (digits == 0 || digits > 1 && s.charAt(start) == '0') {
+                return null;
+            } else if (part == 0) {
+                major = value;
+            } else if (part == 1) {
+                minor = value;
+            } else {
+                patch = value;
+                break;
+            }
+
+            if (i == to || s.charAt(i) != '.') {
+                return null;
+            }
+            ++i;
+        }
+
+        if (i != to) {
+            return null;
+        } else if (!collect) {
+            return ZERO;
+        }
+        return new Version(major, minor, patch, EMPTY_ARRAY, EMPTY_ARRAY);
+    }
+
+    private static int parseID(CharSequence s, int from, int to, int start,
+            boolean verifyOnly, boolean allowLeading0, boolean preRelease,
+            List<String> parts, String partName) {
+
+        assert verifyOnly || parts != null;
 
+        final IdentifierPool pool = identifierPool;
         int i = start;
-        while (i <= stream.length) {
+        while (i <= to) {
 
-            i = parseIDPart(stream, full, i, verifyOnly, allowLeading0, preRelease, true,
-                    b, partName);
+            final int partStart = i;
+            i = parseIDPart(s, from, to, i, verifyOnly, allowLeading0, preRelease, true,
+                    partName);
             if (i == FAILURE) {
                 // implies verifyOnly == true, otherwise exception would have been thrown
                 return FAILURE;
-            } else if (!verifyOnly) {
-                parts.add(b.toString());
+            } else if (parts != null) {
+                parts.add(pool.identifier(s, partStart, i));
             }
 
-            final int c = i < stream.length ? stream[i] : EOS;
+            final int c = i < to ? s.charAt(i) : EOS;
             if (c == '.') {
                 // keep looping
                 ++i;
@@ -412,55 +833,39 @@ public final class Version implements Comparable<Version>, Serializable {
         throw new IllegalStateException();
     }
 
-    private static int parseIDPart(char[] stream, String full, int start,
+    private static int parseIDPart(CharSequence s, int from, int to, int start,
             boolean verifyOnly,
             boolean allowLeading0, boolean preRelease, boolean allowDot,
-            StringBuilder b, String partName) {
-
-        if (b != null) {
-            b.setLength(0);
-        }
+            String partName) {
 
         int state = STATE_PART_INIT;
-        for (int i = start; i <= stream.length; ++i) {
-            final int c = i < stream.length ? stream[i] : EOS;
+        for (int i = start; i <= to; ++i) {
+            final int c = i < to ? s.charAt(i) : EOS;
 
             switch (state) {
             case STATE_PART_INIT:
                 if (c == '0' && !allowLeading0) {
                     state = STATE_PART_LEADING_ZERO;
-                    if (b != null) {
-                        b.append('0');
-                    }
                 } else if (c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
                         || c >= '0' && c <= '9') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
                     state = STATE_PART_DEFAULT;
                 } else if (c == '.') {
                     if (verifyOnly) {
                         return FAILURE;
                     }
-                    throw unexpectedChar(full, -1);
+                    throw unexpectedChar(s, from, to, i, EOS);
                 } else {
                     if (verifyOnly) {
                         return FAILURE;
                     }
-                    throw unexpectedChar(full, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PART_LEADING_ZERO:
                 // when in this state we consumed a single '0'
                 if (c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
                     state = STATE_PART_DEFAULT;
                 } else if (c >= '0' && c <= '9') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
                     state = STATE_PART_NUMERIC;
                 } else if (c == '.' && allowDot || c == EOS || c == '+' && preRelease) {
                     // if we are parsing a pre release part it can be terminated by a
@@ -471,21 +876,16 @@ public final class Version implements Comparable<Version>, Serializable {
                 } else if (verifyOnly) {
                     return FAILURE;
                 } else {
-                    throw unexpectedChar(full, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PART_NUMERIC:
                 // when in this state, the part began with a '0' and we only consumed
                 // numeric chars so far
                 if (c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
                     state = STATE_PART_DEFAULT;
                 } else if (c >= '0' && c <= '9') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
+                    // keep consuming digits
                 } else if (c == '.' || c == EOS || c == '+' && preRelease) {
                     // if we are parsing a pre release part it can be terminated by a
                     // '+' in case a build meta data follows
@@ -493,19 +893,17 @@ public final class Version implements Comparable<Version>, Serializable {
                     if (verifyOnly) {
                         return FAILURE;
                     }
-                    throw illegalLeadingChar(full, '0', partName);
+                    throw illegalLeadingChar(s, from, to, start, '0', partName);
                 } else if (verifyOnly) {
                     return FAILURE;
                 } else {
-                    throw unexpectedChar(full, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             case STATE_PART_DEFAULT:
                 if (c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z'
                         || c >= '0' && c <= '9') {
-                    if (b != null) {
-                        b.appendCodePoint(c);
-                    }
+                    // keep consuming identifier chars
                 } else if (c == '.' && allowDot || c == EOS || c == '+' && preRelease) {
                     // if we are parsing a pre release part it can be terminated by a
                     // '+' in case a build meta data follows
@@ -513,7 +911,7 @@ public final class Version implements Comparable<Version>, Serializable {
                 } else if (verifyOnly) {
                     return FAILURE;
                 } else {
-                    throw unexpectedChar(full, c);
+                    throw unexpectedChar(s, from, to, i, c);
                 }
                 break;
             }
@@ -522,19 +920,25 @@ public final class Version implements Comparable<Version>, Serializable {
         throw new IllegalStateException();
     }
 
-    private static VersionFormatException illegalLeadingChar(String v, int c,
-            String part) {
-        return new VersionFormatException(
-                String.format("Illegal leading char '%c' in %s part of %s", c, part, v));
+    private static VersionFormatException illegalLeadingChar(CharSequence s, int from,
+            int to, int position, int c, String part) {
+        return new VersionFormatException(VersionFormatException.ILLEGAL_LEADING_CHAR,
+                s.subSequence(from, to).toString(), position - from, c, part);
     }
 
-    private static VersionFormatException unexpectedChar(String v, int c) {
-        if (c == EOS) {
-            return new VersionFormatException(String.format(
-                    "Incomplete version part in %s", v));
-        }
-        return new VersionFormatException(
-                String.format("Unexpected char in %s: %c", v, c));
+    private static VersionFormatException numberTooLarge(CharSequence s, int from,
+            int to, int position, int c, String part) {
+        return new VersionFormatException(VersionFormatException.NUMBER_TOO_LARGE,
+                s.subSequence(from, to).toString(), position - from, c, part);
+    }
+
+    private static VersionFormatException unexpectedChar(CharSequence s, int from, int to,
+            int position, int c) {
+        final int kind = c == EOS
+                ? VersionFormatException.INCOMPLETE_PART
+                : VersionFormatException.UNEXPECTED_CHAR;
+        return new VersionFormatException(kind, s.subSequence(from, to).toString(),
+                position - from, c, null);
     }
 
     /**
@@ -547,8 +951,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 1.1.0
      */
     public Version withMajor(int newMajor) {
-        return new Version(newMajor, this.minor, this.patch, this.preReleaseParts,
-                this.buildMetaDataParts);
+        return new Version(newMajor, this.minor, this.patch, this.identifiers);
     }
 
     /**
@@ -561,8 +964,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 1.1.0
      */
     public Version withMinor(int newMinor) {
-        return new Version(this.major, newMinor, this.patch, this.preReleaseParts,
-                this.buildMetaDataParts);
+        return new Version(this.major, newMinor, this.patch, this.identifiers);
     }
 
     /**
@@ -575,8 +977,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 1.1.0
      */
     public Version withPatch(int newPatch) {
-        return new Version(this.major, this.minor, newPatch, this.preReleaseParts,
-                this.buildMetaDataParts);
+        return new Version(this.major, this.minor, newPatch, this.identifiers);
     }
 
     /**
@@ -595,7 +996,7 @@ public final class Version implements Comparable<Version>, Serializable {
         require(newPreRelease != null, "newPreRelease is null");
         final String[] newPreReleaseParts = parsePreRelease(newPreRelease);
         return new Version(this.major, this.minor, this.patch, newPreReleaseParts,
-                this.buildMetaDataParts);
+                buildMetaDataParts());
     }
 
     /**
@@ -629,7 +1030,7 @@ public final class Version implements Comparable<Version>, Serializable {
         final String joined = join(newPreRelease);
         final String[] newPreReleaseParts = parsePreRelease(joined);
         return new Version(this.major, this.minor, this.patch, newPreReleaseParts,
-                this.buildMetaDataParts);
+                buildMetaDataParts());
     }
 
     /**
@@ -647,7 +1048,7 @@ public final class Version implements Comparable<Version>, Serializable {
     public Version withBuildMetaData(String newBuildMetaData) {
         require(newBuildMetaData != null, "newBuildMetaData is null");
         final String[] newBuildMdParts = parseBuildMd(newBuildMetaData);
-        return new Version(this.major, this.minor, this.patch, this.preReleaseParts,
+        return new Version(this.major, this.minor, this.patch, preReleaseParts(),
                 newBuildMdParts);
     }
 
@@ -680,7 +1081,7 @@ public final class Version implements Comparable<Version>, Serializable {
         require(newBuildMetaData != null, "newBuildMetaData is null");
         final String joined = join(newBuildMetaData);
         final String[] newBuildMdParts = parseBuildMd(joined);
-        return new Version(this.major, this.minor, this.patch, this.preReleaseParts,
+        return new Version(this.major, this.minor, this.patch, preReleaseParts(),
                 newBuildMdParts);
     }
 
@@ -697,8 +1098,8 @@ public final class Version implements Comparable<Version>, Serializable {
 
             // note: pass "pre-release" because this string will not be used when parsing
             // build-meta-data
-            parseIDPart(part.toCharArray(), part, 0, false, allowLeading0, false, false,
-                    null, "pre-release");
+            parseIDPart(part, 0, part.length(), 0, false, allowLeading0, false, false,
+                    "pre-release");
         }
         return result;
     }
@@ -922,7 +1323,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 1.2.0
      */
     public Version nextPreRelease() {
-        final String[] newPreReleaseParts = incrementIdentifier(this.preReleaseParts);
+        final String[] newPreReleaseParts = incrementIdentifier(preReleaseParts());
         return new Version(this.major, this.minor, this.patch, newPreReleaseParts,
                 EMPTY_ARRAY);
     }
@@ -971,8 +1372,8 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 1.2.0
      */
     public Version nextBuildMetaData() {
-        final String[] newBuildMetaData = incrementIdentifier(this.buildMetaDataParts);
-        return new Version(this.major, this.minor, this.patch, this.preReleaseParts,
+        final String[] newBuildMetaData = incrementIdentifier(buildMetaDataParts());
+        return new Version(this.major, this.minor, this.patch, preReleaseParts(),
                 newBuildMetaData);
     }
 
@@ -983,11 +1384,12 @@ public final class Version implements Comparable<Version>, Serializable {
         final int lastIdx = parts.length - 1;
         final String lastPart = parts[lastIdx];
 
-        int num = isNumeric(lastPart);
+        long num = numericValue(lastPart);
         int newLength = parts.length;
-        if (num >= 0) {
+        if (num >= 0 && num < NUMERIC_OVERFLOW) {
             num += 1;
         } else {
+            // also applies to numbers that are too large to be incremented
             newLength += 1;
             num = 1;
         }
@@ -1010,7 +1412,8 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 0.5.0
      */
     public static boolean isValidVersion(String version) {
-        return version != null && !version.isEmpty() && parse(version, true) != null;
+        return version != null && !version.isEmpty()
+                && parse(version, 0, version.length(), true, false, null) != null;
     }
 
     /**
@@ -1034,7 +1437,7 @@ public final class Version implements Comparable<Version>, Serializable {
             return true;
         }
 
-        return parseID(preRelease.toCharArray(), preRelease, 0, true, false, false, null,
+        return parseID(preRelease, 0, preRelease.length(), 0, true, false, false, null,
                 "") != FAILURE;
     }
 
@@ -1060,7 +1463,7 @@ public final class Version implements Comparable<Version>, Serializable {
             return true;
         }
 
-        return parseID(buildMetaData.toCharArray(), buildMetaData, 0, true, true, false,
+        return parseID(buildMetaData, 0, buildMetaData.length(), 0, true, true, false,
                 null, "") != FAILURE;
     }
 
@@ -1180,129 +1583,668 @@ public final class Version implements Comparable<Version>, Serializable {
         return compare(v1, v2, true);
     }
 
-    private static int compare(Version v1, Version v2,
-            boolean withBuildMetaData) {
-        int result = 0;
-        if (v1 != v2) {
-            final int mc, mm, mp, pr, md;
-            if ((mc = compareInt(v1.major, v2.major)) != 0) {
-                result = mc;
-            } else if ((mm = compareInt(v1.minor, v2.minor)) != 0) {
-                result = mm;
-            } else if ((mp = compareInt(v1.patch, v2.patch)) != 0) {
-                result = mp;
-            } else if ((pr = comparePreRelease(v1, v2)) != 0) {
-                result = pr;
-            } else if (withBuildMetaData && ((md = compareBuildMetaData(v1, v2)) != 0)) {
-                result = md;
+    /**
+     * Compares two version Strings according to their natural ordering without creating
+     * Version objects. The result is the same as that of
+     * <code>compare(parseVersion(v1), parseVersion(v2))</code>.
+     * <p>
+     * Both Strings are traversed side by side and the comparison stops at the first
+     * difference. Thus only the characters up to that difference are validated. If an
+     * invalid character is encountered before, a {@link VersionFormatException} is
+     * thrown just like when parsing. An invalid remainder after the first difference
+     * goes unnoticed. Use {@link #isValidVersion(String)} first if the input is not
+     * trusted.
+     * <p>
+     * This method does not allocate any objects unless an error is encountered.
+     *
+     * @param v1 The first version String for comparison.
+     * @param v2 The second version String for comparison.
+     * @return A value below 0 iff {@code v1 &lt; v2}, a value above 0 iff
+     *         {@code v1 &gt; v2} and 0 iff both are equal according to their natural
+     *         ordering.
+     * @throws NullPointerException If either parameter is null.
+     * @throws VersionFormatException If the compared portion of either String is not a
+     *             valid semantic version, including a compared major, minor or patch part
+     *             that does not fit into an int.
+     * @since 2.2.0
+     */
+    public static int compare(CharSequence v1, CharSequence v2) {
+        // throw NPE to comply with Comparator specification
+        if (v1 == null) {
+            throw new NullPointerException("v1 is null");
+        } else if (v2 == null) {
+            throw new NullPointerException("v2 is null");
+        }
+
+        final int len1 = v1.length();
+        final int len2 = v2.length();
+        int i1 = 0;
+        int i2 = 0;
+        for (int part = 0; part < CORE_PART_NAMES.length; ++part) {
+            final int end1 = scanCorePart(v1, len1, i1, part);
+            final int end2 = scanCorePart(v2, len2, i2, part);
+            final int r = compareInt(corePartValue(v1, len1, i1, end1, part),
+                    corePartValue(v2, len2, i2, end2, part));
+            if (r != 0) {
+                return r;
             }
+            i1 = end1 + 1;
+            i2 = end2 + 1;
         }
-        return result;
-    }
 
-    private static int compareInt(int a, int b) {
-        return a - b;
+        // i1 and i2 now point behind the separator that terminated the patch part
+        final boolean preRelease1 = i1 <= len1 && v1.charAt(i1 - 1) == '-';
+        final boolean preRelease2 = i2 <= len2 && v2.charAt(i2 - 1) == '-';
+        if (!preRelease1 || !preRelease2) {
+            // a pre-release has lower precedence than a normal version
+            return preRelease1 ? -1 : preRelease2 ? 1 : 0;
+        }
+
+        while (true) {
+            final int end1 = scanIdentifier(v1, len1, i1);
+            final int end2 = scanIdentifier(v2, len2, i2);
+            final int r = compareIdentifierRegions(v1, i1, end1, v2, i2, end2);
+            if (r != 0) {
+                return r;
+            }
+            final boolean more1 = end1 < len1 && v1.charAt(end1) == '.';
+            final boolean more2 = end2 < len2 && v2.charAt(end2) == '.';
+            if (!more1 || !more2) {
+                // a larger set of identifiers has higher precedence
+                return more1 ? 1 : more2 ? -1 : 0;
+            }
+            i1 = end1 + 1;
+            i2 = end2 + 1;
+        }
     }
 
-    private static int comparePreRelease(Version v1, Version v2) {
-        return compareLiterals(v1.preReleaseParts, v2.preReleaseParts);
+    /**
+     * Finds the end of the major, minor or patch part starting at {@code start} and
+     * validates the part as well as the separator that follows it.
+     */
+    private static int scanCorePart(CharSequence s, int len, int start, int part) {
+        int end = start;
+        while (end < len && s.charAt(end) >= '0' && s.charAt(end) <= '9') {
+            ++end;
+        }
+        final int c = end < len ? s.charAt(end) : EOS;
+        if (end == start) {
+            throw unexpectedChar(s, 0, len, end, c);
+        } else if (end - start > 1 && s.charAt(start) == '0') {
+            throw illegalLeadingChar(s, 0, len, start, '0', CORE_PART_NAMES[part]);
+        } else if (part < CORE_PART_NAMES.length - 1 ? c != '.'
+                : c != '-' && c != '+' && c != EOS) {
+            throw unexpectedChar(s, 0, len, end, c);
+        }
+        return end;
     }
 
-    private static int compareBuildMetaData(Version v1, Version v2) {
-        return compareLiterals(v1.buildMetaDataParts, v2.buildMetaDataParts);
+    private static int corePartValue(CharSequence s, int len, int start, int end,
+            int part) {
+        int value = 0;
+        for (int i = start; i < end; ++i) {
+            final char c = s.charAt(i);
+            value = appendCoreDigit(value, c);
+            if (value == CORE_OVERFLOW) {
+                // same failure as reported when parsing
+                throw numberTooLarge(s, 0, len, i, c, CORE_PART_NAMES[part]);
+            }
+        }
+        return value;
     }
 
-    private static int compareLiterals(String[] v1Literal, String[] v2Literal) {
-        final int result;
-        if (v1Literal.length > 0 && v2Literal.length > 0) {
-            // compare pre release parts
-            result = compareIdentifiers(v1Literal, v2Literal);
-        } else if (v1Literal.length > 0) {
-            // other is greater, because it is no pre release
-            result = -1;
-        } else if (v2Literal.length > 0) {
-            // this is greater because other is no pre release
-            result = 1;
-        } else {
-            result = 0;
+    /**
+     * Finds the end of the pre-release identifier starting at {@code start} and
+     * validates it. The returned index points to a '.', a '+' or the end of the input.
+     */
+    private static int scanIdentifier(CharSequence s, int len, int start) {
+        boolean numeric = true;
+        int end = start;
+        for (; end < len; ++end) {
+            final char c = s.charAt(end);
+            if (c >= '0' && c <= '9') {
+                continue;
+            } else if (c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z') {
+                numeric = false;
+            } else if (c == '.' || c == '+') {
+                break;
+            } else {
+                throw unexpectedChar(s, 0, len, end, c);
+            }
         }
-        return result;
+
+        if (end == start) {
+            final int c = end < len && s.charAt(end) == '+' ? '+' : EOS;
+            throw unexpectedChar(s, 0, len, end, c);
+        } else if (numeric && end - start > 1 && s.charAt(start) == '0') {
+            throw illegalLeadingChar(s, 0, len, start, '0', "pre-release");
+        }
+        return end;
     }
 
-    private static int compareIdentifiers(String[] parts1, String[] parts2) {
-        final int min = Math.min(parts1.length, parts2.length);
+    private static int compareIdentifierRegions(CharSequence s1, int start1, int end1,
+            CharSequence s2, int start2, int end2) {
+        final boolean numeric1 = isDigits(s1, start1, end1);
+        final boolean numeric2 = isDigits(s2, start2, end2);
+        final int len1 = end1 - start1;
+        final int len2 = end2 - start2;
+        if (numeric1 != numeric2) {
+            // numeric identifiers have lower precedence
+            return numeric1 ? -1 : 1;
+        } else if (numeric1 && len1 != len2) {
+            // there are no leading zeroes, so more digits means a greater number
+            return compareInt(len1, len2);
+        }
+
+        // both numeric with the same amount of digits or both compared lexically
+        final int min = Math.min(len1, len2);
         for (int i = 0; i < min; ++i) {
-            final int r = compareIdentifierParts(parts1[i], parts2[i]);
+            final int r = s1.charAt(start1 + i) - s2.charAt(start2 + i);
             if (r != 0) {
-                // versions differ in part i
                 return r;
             }
         }
+        return compareInt(len1, len2);
+    }
 
-        // all id's are equal, so compare amount of id's
-        return compareInt(parts1.length, parts2.length);
+    private static boolean isDigits(CharSequence s, int start, int end) {
+        for (int i = start; i < end; ++i) {
+            final char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
     }
 
-    private static int compareIdentifierParts(String p1, String p2) {
-        final int num1 = isNumeric(p1);
-        final int num2 = isNumeric(p2);
+    private static int compare(Version v1, Version v2,
+            boolean withBuildMetaData) {
+        int result = 0;
+        if (v1 != v2) {
+            final long k1 = v1.sortKey;
+            final long k2 = v2.sortKey;
+            if (k1 != UNPACKED && k2 != UNPACKED) {
+                // the keys decide everything but the pre-release identifiers
+                if (k1 != k2) {
+                    return k1 < k2
+                            ? -1
+                            : 1;
+                } else if ((k1 & STABLE_BIT) == 0) {
+                    result = comparePreRelease(v1, v2);
+                }
+            } else {
+                final int mc, mm, mp;
+                if ((mc = compareInt(v1.major, v2.major)) != 0) {
+                    result = mc;
+                } else if ((mm = compareInt(v1.minor, v2.minor)) != 0) {
+                    result = mm;
+                } else if ((mp = compareInt(v1.patch, v2.patch)) != 0) {
+                    result = mp;
+                } else {
+                    result = comparePreRelease(v1, v2);
+                }
+            }
 
-        final int result;
-        if (num1 < 0 && num2 < 0) {
-            // both are not numerical -> compare lexically
-            result = p1.compareTo(p2);
-        } else if (num1 >= 0 && num2 >= 0) {
-            // both are numerical
-            result = compareInt(num1, num2);
-        } else if (num1 >= 0) {
-            // only part1 is numerical -> p2 is greater
-            result = -1;
-        } else {
-            // only part2 is numerical -> p1 is greater
-            result = 1;
+            if (result == 0 && withBuildMetaData) {
+                result = compareBuildMetaData(v1, v2);
+            }
         }
         return result;
     }
 
     /**
-     * Determines whether s is a positive number. If it is, the number is returned,
-     * otherwise the result is -1.
+     * Sorts the given array according to the natural ordering of versions. The result is
+     * the same as that of <code>Arrays.sort(versions)</code>, including the sort being
+     * stable, but the versions are mostly ordered by a radix sort over their major,
+     * minor and patch parts instead of by comparing them. A comparison sort is only
+     * performed within groups of pre-release versions that share the same major, minor
+     * and patch, and for arrays that are too small to benefit.
      *
-     * @param s The String to check.
-     * @return The positive number (incl. 0) if s a number, or -1 if it is not.
+     * @param versions The versions to sort.
+     * @throws IllegalArgumentException If {@code versions} is <code>null</code>.
+     * @throws NullPointerException If the array contains <code>null</code> elements.
+     * @since 2.2.0
      */
-    private static int isNumeric(String s) {
-        final char[] chars = s.toCharArray();
-        int num = 0;
+    public static void sort(Version[] versions) {
+        require(versions != null, "versions is null");
+        sort(versions, 0, versions.length);
+    }
 
-        // note: this method does not account for leading zeroes as could occur in build
-        // meta data parts. Leading zeroes are thus simply ignored when parsing the
-        // number.
-        for (int i = 0; i < chars.length; ++i) {
-            final char c = chars[i];
-            if (c >= '0' && c <= '9') {
-                num = num * DECIMAL + Character.digit(c, DECIMAL);
-            } else {
-                return -1;
-            }
+    private static void sort(Version[] versions, int from, int to) {
+        final int n = to - from;
+        if (n < RADIX_SORT_THRESHOLD) {
+            Arrays.sort(versions, from, to, NATURAL_ORDER);
+            return;
         }
-        return num;
-    }
 
-    private static String[] parsePreRelease(String preRelease) {
-        if (preRelease != null && !preRelease.isEmpty()) {
-            final List<String> parts = new ArrayList<String>();
-            parseID(preRelease.toCharArray(), preRelease, 0, false, false, false, parts,
-                    "pre-release");
-            return parts.toArray(new String[parts.size()]);
+        long[] keys = new long[n];
+        long or = 0L;
+        long and = -1L;
+        for (int i = 0; i < n; ++i) {
+            final long key = versions[from + i].sortKey;
+            if (key == UNPACKED) {
+                // the core of this version does not fit into the key
+                Arrays.sort(versions, from, to, NATURAL_ORDER);
+                return;
+            }
+            keys[i] = key;
+            or |= key;
+            and &= key;
         }
-        return EMPTY_ARRAY;
-    }
 
-    private static String[] parseBuildMd(String buildMetaData) {
-        if (buildMetaData != null && !buildMetaData.isEmpty()) {
+        // LSD radix sort, skipping all digits which are the same for all keys
+        final long varying = or ^ and;
+        final int[] counts = new int[RADIX + 1];
+        long[] keysBuffer = new long[n];
+        Version[] src = Arrays.copyOfRange(versions, from, to);
+        Version[] dst = new Version[n];
+        for (int shift = 0; shift < Long.SIZE; shift += RADIX_BITS) {
+            if ((varying >>> shift & RADIX_MASK) == 0) {
+                continue;
+            }
+            Arrays.fill(counts, 0);
+            for (int i = 0; i < n; ++i) {
+                ++counts[(int) (keys[i] >>> shift & RADIX_MASK) + 1];
+            }
+            for (int r = 0; r < RADIX; ++r) {
+                counts[r + 1] += counts[r];
+            }
+            for (int i = 0; i < n; ++i) {
+                final int target = counts[(int) (keys[i] >>> shift & RADIX_MASK)]++;
+                keysBuffer[target] = keys[i];
+                dst[target] = src[i];
+            }
+
+            final long[] swapKeys = keys;
+            keys = keysBuffer;
+            keysBuffer = swapKeys;
+            final Version[] swap = src;
+            src = dst;
+            dst = swap;
+        }
+        System.arraycopy(src, 0, versions, from, n);
+
+        // versions with equal keys are only out of order if they are pre-releases
+        int start = 0;
+        while (start < n) {
+            final long key = keys[start];
+            int end = start + 1;
+            while (end < n && keys[end] == key) {
+                ++end;
+            }
+            if (end - start > 1 && (key & STABLE_BIT) == 0) {
+                Arrays.sort(versions, from + start, from + end, NATURAL_ORDER);
+            }
+            start = end;
+        }
+    }
+
+    /**
+     * Sorts the given list according to the natural ordering of versions. This works
+     * like {@link #sort(Version[])} on the list's elements which are then written back
+     * into the list.
+     *
+     * @param versions The versions to sort.
+     * @throws IllegalArgumentException If {@code versions} is <code>null</code>.
+     * @throws NullPointerException If the list contains <code>null</code> elements.
+     * @throws UnsupportedOperationException If the list does not support
+     *             {@link ListIterator#set(Object)}.
+     * @since 2.2.0
+     */
+    public static void sort(List<Version> versions) {
+        require(versions != null, "versions is null");
+        final Version[] array = versions.toArray(new Version[versions.size()]);
+        sort(array);
+        final ListIterator<Version> it = versions.listIterator();
+        for (final Version version : array) {
+            it.next();
+            it.set(version);
+        }
+    }
+
+    /**
+     * Sorts the given array like {@link #sort(Version[])} but distributes the work among
+     * multiple threads for large arrays. The work is run on a shared pool of daemon
+     * threads, one per available processor, which is created on first use and whose
+     * threads terminate when they have been idle for a while.
+     *
+     * @param versions The versions to sort.
+     * @throws IllegalArgumentException If {@code versions} is <code>null</code>.
+     * @throws NullPointerException If the array contains <code>null</code> elements.
+     * @since 2.2.0
+     * @see #parallelSort(Version[], Executor)
+     */
+    public static void parallelSort(Version[] versions) {
+        parallelSort(versions, DefaultExecutor.INSTANCE);
+    }
+
+    /**
+     * Sorts the given array like {@link #sort(Version[])} but distributes the work among
+     * the given executor for large arrays. The array is split into at most one chunk per
+     * available processor. The chunks are sorted concurrently and then merged in
+     * concurrent rounds. The calling thread takes part in the work. It never waits for
+     * tasks that the executor has not started yet, but runs their chunks itself and
+     * only waits for chunks that are being worked on by other threads. Thus the call
+     * completes even if all threads of the executor are busy or blocked. Tasks rejected
+     * by the executor are handled the same way.
+     * <p>
+     * The sort is stable and the result is identical to that of
+     * {@link #sort(Version[])}.
+     *
+     * @param versions The versions to sort.
+     * @param executor The executor to run the work on.
+     * @throws IllegalArgumentException If {@code versions} or {@code executor} is
+     *             <code>null</code>.
+     * @throws NullPointerException If the array contains <code>null</code> elements.
+     * @since 2.2.0
+     */
+    public static void parallelSort(Version[] versions, Executor executor) {
+        parallelSort(versions, executor, Runtime.getRuntime().availableProcessors());
+    }
+
+    static void parallelSort(final Version[] versions, Executor executor,
+            int parallelism) {
+        require(versions != null, "versions is null");
+        require(executor != null, "executor is null");
+        final int[] bounds = chunkBounds(versions.length, PARALLEL_SORT_MIN_CHUNK,
+                parallelism);
+        final int chunks = bounds.length - 1;
+        runParallel(executor, chunks, new ChunkTask() {
+
+            @Override
+            public void run(int chunk) {
+                sort(versions, bounds[chunk], bounds[chunk + 1]);
+            }
+        });
+
+        // merge neighboring runs until only one is left
+        Version[] src = versions;
+        Version[] dst = new Version[chunks > 1 ? versions.length : 0];
+        for (int width = 1; width < chunks; width *= 2) {
+            final int runs = width;
+            final Version[] from = src;
+            final Version[] to = dst;
+            runParallel(executor, (chunks + 2 * runs - 1) / (2 * runs), new ChunkTask() {
+
+                @Override
+                public void run(int merge) {
+                    final int first = merge * 2 * runs;
+                    merge(from, to,
+                            bounds[first],
+                            bounds[Math.min(first + runs, chunks)],
+                            bounds[Math.min(first + 2 * runs, chunks)]);
+                }
+            });
+            src = to;
+            dst = from;
+        }
+        if (src != versions) {
+            System.arraycopy(src, 0, versions, 0, versions.length);
+        }
+    }
+
+    /**
+     * Stable merge of the sorted ranges {@code [lo, mid)} and {@code [mid, hi)} of src
+     * into the same range of dst.
+     */
+    private static void merge(Version[] src, Version[] dst, int lo, int mid, int hi) {
+        int left = lo;
+        int right = mid;
+        for (int i = lo; i < hi; ++i) {
+            if (right == hi
+                    || left < mid && compare(src[left], src[right], false) <= 0) {
+                dst[i] = src[left++];
+            } else {
+                dst[i] = src[right++];
+            }
+        }
+    }
+
+    /**
+     * Splits the range [0, length) into chunks of at least minChunk elements, at most
+     * parallelism many. Returns the chunk boundaries, so the result contains one element
+     * more than there are chunks.
+     */
+    private static int[] chunkBounds(int length, int minChunk, int parallelism) {
+        final int chunks = Math.max(1, Math.min(parallelism, length / minChunk));
+        final int[] bounds = new int[chunks + 1];
+        for (int i = 0; i <= chunks; ++i) {
+            bounds[i] = (int) ((long) length * i / chunks);
+        }
+        return bounds;
+    }
+
+    /**
+     * Runs the given task for every chunk in [0, chunks) and returns once all of them are
+     * done. The calling thread and up to chunks - 1 tasks submitted to the executor
+     * claim chunks from a shared counter until none are left. A task only claims a chunk
+     * once it is running, so the caller never waits for a task which has not been
+     * started by the executor, but only for chunks that are being run by other threads
+     * at that time. This makes it safe to pass a saturated executor or to call this
+     * from within one of the executor's own threads. If chunks fail, the failure of the
+     * lowest chunk is rethrown.
+     */
+    private static void runParallel(Executor executor, final int chunks,
+            final ChunkTask task) {
+        final Throwable[] failures = new Throwable[chunks];
+        final AtomicInteger next = new AtomicInteger();
+        final CountDownLatch done = new CountDownLatch(chunks);
+        final Runnable worker = new Runnable() {
+
+            @Override
+            public void run() {
+                int chunk;
+                while ((chunk = next.getAndIncrement()) < chunks) {
+                    try {
+                        task.run(chunk);
+                    } catch (final Throwable t) {
+                        failures[chunk] = t;
+                    } finally {
+                        done.countDown();
+                    }
+                }
+            }
+        };
+        for (int i = 1; i < chunks; ++i) {
+            try {
+                executor.execute(worker);
+            } catch (final RejectedExecutionException e) {
+                // the calling thread claims the remaining chunks
+                break;
+            }
+        }
+        worker.run();
+
+        // chunks claimed by other threads still modify the caller's arrays, so we must
+        // not return early
+        boolean interrupted = false;
+        while (true) {
+            try {
+                done.await();
+                break;
+            } catch (final InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+
+        // the latch guarantees visibility of the failures written by the workers
+        for (final Throwable failure : failures) {
+            if (failure instanceof RuntimeException) {
+                throw (RuntimeException) failure;
+            } else if (failure instanceof Error) {
+                throw (Error) failure;
+            } else if (failure != null) {
+                throw new IllegalStateException(failure);
+            }
+        }
+    }
+
+    private static int compareInt(int a, int b) {
+        return a - b;
+    }
+
+    private static int comparePreRelease(Version v1, Version v2) {
+        return compareLiterals(v1.preReleaseParts(), v1.preReleaseNumbers(),
+                v2.preReleaseParts(), v2.preReleaseNumbers());
+    }
+
+    private static int compareBuildMetaData(Version v1, Version v2) {
+        // numeric values of build meta data parts are not precomputed because they are
+        // only needed when explicitly comparing with build meta data
+        return compareLiterals(v1.buildMetaDataParts(), null, v2.buildMetaDataParts(), null);
+    }
+
+    private static int compareLiterals(String[] v1Literal, long[] v1Numbers,
+            String[] v2Literal, long[] v2Numbers) {
+        final int result;
+        if (v1Literal.length > 0 && v2Literal.length > 0) {
+            // compare pre release parts
+            result = compareIdentifiers(v1Literal, v1Numbers, v2Literal, v2Numbers);
+        } else if (v1Literal.length > 0) {
+            // other is greater, because it is no pre release
+            result = -1;
+        } else if (v2Literal.length > 0) {
+            // this is greater because other is no pre release
+            result = 1;
+        } else {
+            result = 0;
+        }
+        return result;
+    }
+
+    private static int compareIdentifiers(String[] parts1, long[] numbers1,
+            String[] parts2, long[] numbers2) {
+        final int min = Math.min(parts1.length, parts2.length);
+        for (int i = 0; i < min; ++i) {
+            // fall back to computing the numeric values if they are not known in advance
+            final long num1 = numbers1 == null ? numericValue(parts1[i]) : numbers1[i];
+            final long num2 = numbers2 == null ? numericValue(parts2[i]) : numbers2[i];
+            final int r = compareIdentifierParts(parts1[i], num1, parts2[i], num2);
+            if (r != 0) {
+                // versions differ in part i
+                return r;
+            }
+        }
+
+        // all id's are equal, so compare amount of id's
+        return compareInt(parts1.length, parts2.length);
+    }
+
+    private static int compareIdentifierParts(String p1, long num1, String p2,
+            long num2) {
+        final int result;
+        if (num1 < 0 && num2 < 0) {
+            // both are not numerical -> compare lexically
+            result = p1.compareTo(p2);
+        } else if (num1 >= 0 && num2 >= 0) {
+            // both are numerical
+            result = compareNumbers(p1, num1, p2, num2);
+        } else if (num1 >= 0) {
+            // only part1 is numerical -> p2 is greater
+            result = -1;
+        } else {
+            // only part2 is numerical -> p1 is greater
+            result = 1;
+        }
+        return result;
+    }
+
+    private static int compareNumbers(String p1, long num1, String p2, long num2) {
+        if (num1 != num2) {
+            return num1 < num2
+                    ? -1
+                    : 1;
+        } else if (num1 == NUMERIC_OVERFLOW) {
+            // both numbers are too large to be represented by a long
+            return compareDigits(p1, p2);
+        }
+        return 0;
+    }
+
+    private static int compareDigits(String digits1, String digits2) {
+        final int start1 = skipLeadingZeroes(digits1);
+        final int start2 = skipLeadingZeroes(digits2);
+        final int len1 = digits1.length() - start1;
+        final int len2 = digits2.length() - start2;
+        if (len1 != len2) {
+            // more significant digits -> greater number
+            return compareInt(len1, len2);
+        }
+        for (int i = 0; i < len1; ++i) {
+            final int r = digits1.charAt(start1 + i) - digits2.charAt(start2 + i);
+            if (r != 0) {
+                return r;
+            }
+        }
+        return 0;
+    }
+
+    private static int skipLeadingZeroes(String digits) {
+        int i = 0;
+        while (i < digits.length() - 1 && digits.charAt(i) == '0') {
+            ++i;
+        }
+        return i;
+    }
+
+    private static long[] numericValues(String[] parts) {
+        if (parts.length == 0) {
+            return EMPTY_NUMBERS;
+        }
+        final long[] result = new long[parts.length];
+        for (int i = 0; i < parts.length; ++i) {
+            result[i] = numericValue(parts[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Determines whether s is a positive number. If it is, the number is returned,
+     * otherwise the result is -1. Numbers that exceed the range of long are reported as
+     * {@link #NUMERIC_OVERFLOW}.
+     *
+     * @param s The String to check.
+     * @return The positive number (incl. 0) if s a number, or -1 if it is not.
+     */
+    private static long numericValue(String s) {
+        long num = 0;
+
+        // note: this method does not account for leading zeroes as could occur in build
+        // meta data parts. Leading zeroes are thus simply ignored when parsing the
+        // number.
+        for (int i = 0; i < s.length(); ++i) {
+            final char c = s.charAt(i);
+            if (c >= '0' && c <= '9') {
+                final int digit = c - '0';
+                if (num > (NUMERIC_OVERFLOW - digit) / DECIMAL) {
+                    num = NUMERIC_OVERFLOW;
+                } else {
+                    num = num * DECIMAL + digit;
+                }
+            } else {
+                return -1;
+            }
+        }
+        return num;
+    }
+
+    private static String[] parsePreRelease(String preRelease) {
+        if (preRelease != null && !preRelease.isEmpty()) {
+            final List<String> parts = new ArrayList<String>();
+            parseID(preRelease, 0, preRelease.length(), 0, false, false, false, parts,
+                    "pre-release");
+            return parts.toArray(new String[parts.size()]);
+        }
+        return EMPTY_ARRAY;
+    }
+
+    private static String[] parseBuildMd(String buildMetaData) {
+        if (buildMetaData != null && !buildMetaData.isEmpty()) {
             final List<String> parts = new ArrayList<String>();
-            parseID(buildMetaData.toCharArray(), buildMetaData, 0, false, true, false,
+            parseID(buildMetaData, 0, buildMetaData.length(), 0, false, true, false,
                     parts, "build-meta-data");
             return parts.toArray(new String[parts.size()]);
         }
@@ -1427,7 +2369,283 @@ public final class Version implements Comparable<Version>, Serializable {
      */
     public static final Version parseVersion(String versionString) {
         require(versionString != null, "versionString is null");
-        return parse(versionString, false);
+        return parse(versionString, 0, versionString.length(), false, true, null);
+    }
+
+    /**
+     * Tries to parse the region {@code [start, end)} of the provided character sequence
+     * as a semantic version. The characters are read directly from the sequence, so
+     * versions can be extracted from large buffers like a {@link StringBuilder} or a
+     * {@link java.nio.CharBuffer} without creating an intermediate String for the whole
+     * version first. Only the pre-release and build meta data identifiers are copied
+     * into new Strings.
+     *
+     * <p>
+     * The sequence must not be modified concurrently while it is being parsed.
+     *
+     * @param versionString The sequence containing the version to parse.
+     * @param start Index of the first character of the version (inclusive).
+     * @param end Index of the end of the version (exclusive).
+     * @return The parsed version.
+     * @throws VersionFormatException If the region is no valid version.
+     * @throws IllegalArgumentException If {@code versionString} is <code>null</code> or
+     *             if {@code start} and {@code end} do not describe a valid region of
+     *             the sequence.
+     * @since 2.2.0
+     */
+    public static Version parseVersion(CharSequence versionString, int start, int end) {
+        require(versionString != null, "versionString is null");
+        require(start >= 0 && start <= end && end <= versionString.length(),
+                "invalid region");
+        return parse(versionString, start, end, false, true, null);
+    }
+
+    /**
+     * Tries to parse {@code len} bytes of the given array, starting at {@code off}, as a
+     * semantic version. As valid versions consist of ASCII characters only, the bytes are
+     * fed directly into the parser without decoding them into a String first. Only the
+     * pre-release and build meta data identifiers are copied into new Strings. Bytes that
+     * do not represent ASCII characters will be reported as unexpected chars.
+     *
+     * @param buf The array containing the UTF-8 or ASCII encoded version.
+     * @param off Index of the first byte of the version.
+     * @param len Number of bytes to parse.
+     * @return The parsed version.
+     * @throws VersionFormatException If the bytes do not form a valid version.
+     * @throws IllegalArgumentException If {@code buf} is <code>null</code> or if
+     *             {@code off} and {@code len} do not describe a valid region of the
+     *             array.
+     * @since 2.2.0
+     */
+    public static Version parseVersion(byte[] buf, int off, int len) {
+        require(buf != null, "buf is null");
+        require(off >= 0 && len >= 0 && off <= buf.length - len, "invalid region");
+        final CharSequence ascii = new AsciiSequence(buf, off, len);
+        return parse(ascii, 0, len, false, true, null);
+    }
+
+    /**
+     * Tries to parse {@code len} bytes of the given buffer, starting at absolute index
+     * {@code index}, as a semantic version. The buffer's position, limit and mark are not
+     * modified by this method. Behaves like {@link #parseVersion(byte[], int, int)} in all
+     * other regards and works with heap as well as with direct buffers.
+     *
+     * @param buffer The buffer containing the UTF-8 or ASCII encoded version.
+     * @param index Absolute index of the first byte of the version.
+     * @param len Number of bytes to parse.
+     * @return The parsed version.
+     * @throws VersionFormatException If the bytes do not form a valid version.
+     * @throws IllegalArgumentException If {@code buffer} is <code>null</code> or if
+     *             {@code index} and {@code len} do not describe a valid region below the
+     *             buffer's limit.
+     * @since 2.2.0
+     */
+    public static Version parseVersion(ByteBuffer buffer, int index, int len) {
+        require(buffer != null, "buffer is null");
+        require(index >= 0 && len >= 0 && index <= buffer.limit() - len,
+                "invalid region");
+        final CharSequence ascii = buffer.hasArray()
+                ? new AsciiSequence(buffer.array(), buffer.arrayOffset() + index, len)
+                : new AsciiBufferSequence(buffer, index, len);
+        return parse(ascii, 0, len, false, true, null);
+    }
+
+    /**
+     * Tries to parse the provided String as a semantic version. Unlike
+     * {@link #parseVersion(String)}, this method does not throw an exception if the String
+     * does not conform to the semantic version specification, but returns
+     * <code>null</code> instead. Invalid input is detected and the version is created
+     * within the same single pass over the String, without ever creating an exception
+     * object. This makes the method suitable for processing input of which a large share
+     * is expected to be invalid.
+     *
+     * <p>
+     * Note: this method does not throw an exception upon <code>null</code> input, but
+     * returns <code>null</code> instead.
+     *
+     * @param versionString The String to parse.
+     * @return The parsed version or <code>null</code> if the String is no valid version.
+     * @see #isValidVersion(String)
+     * @since 2.2.0
+     */
+    public static Version tryParse(String versionString) {
+        if (versionString == null || versionString.isEmpty()) {
+            return null;
+        }
+        return parse(versionString, 0, versionString.length(), true, true, null);
+    }
+
+    /**
+     * Parses all Strings of the given array as semantic versions and stores the results at
+     * the same index in the target array. Behaves as if calling
+     * {@link #parseVersion(String)} for every element, but reuses the same scratch state
+     * for collecting identifier parts across all elements. Thus, when parsing large
+     * amounts of versions, much less short lived garbage is produced.
+     *
+     * <p>
+     * If any of the Strings is not a valid version, an exception is thrown and the target
+     * array only contains the versions that have been parsed up to that point.
+     *
+     * @param versionStrings The Strings to parse.
+     * @param target The array to which the parsed versions are written. Must be at least
+     *            as long as the input array.
+     * @throws VersionFormatException If any of the Strings is no valid version.
+     * @throws IllegalArgumentException If either array or any of the input Strings is
+     *             <code>null</code> or if the target array is too short.
+     * @since 2.2.0
+     */
+    public static void parseAll(String[] versionStrings, Version[] target) {
+        require(versionStrings != null, "versionStrings is null");
+        require(target != null, "target is null");
+        require(target.length >= versionStrings.length, "target array is too short");
+        parseAll(versionStrings, target, 0, versionStrings.length,
+                new ArrayList<String>());
+    }
+
+    private static void parseAll(String[] versionStrings, Version[] target, int from,
+            int to, List<String> scratch) {
+        for (int i = from; i < to; ++i) {
+            final String versionString = versionStrings[i];
+            require(versionString != null, "versionString is null");
+            target[i] = parse(versionString, 0, versionString.length(), false, true,
+                    scratch);
+        }
+    }
+
+    /**
+     * Parses all Strings of the given array like {@link #parseAll(String[], Version[])}
+     * but distributes the work among multiple threads for large arrays. Each thread uses
+     * its own scratch state. The work is run on the same shared pool as
+     * {@link #parallelSort(Version[])}.
+     *
+     * @param versionStrings The Strings to parse.
+     * @return An array containing the parsed versions in the same order as the input.
+     * @throws VersionFormatException If any of the Strings is no valid version. If
+     *             multiple Strings are invalid, the exception for the one with the lowest
+     *             index is thrown.
+     * @throws IllegalArgumentException If the array or any of its elements is
+     *             <code>null</code>.
+     * @since 2.2.0
+     * @see #parallelParse(String[], Executor)
+     */
+    public static Version[] parallelParse(String[] versionStrings) {
+        return parallelParse(versionStrings, DefaultExecutor.INSTANCE);
+    }
+
+    /**
+     * Parses all Strings of the given array like {@link #parseAll(String[], Version[])}
+     * but distributes the work among the given executor for large arrays. The calling
+     * thread takes part in the work like it does for
+     * {@link #parallelSort(Version[], Executor)}, so it never waits for tasks that the
+     * executor has not started yet.
+     *
+     * @param versionStrings The Strings to parse.
+     * @param executor The executor to run the work on.
+     * @return An array containing the parsed versions in the same order as the input.
+     * @throws VersionFormatException If any of the Strings is no valid version. If
+     *             multiple Strings are invalid, the exception for the one with the lowest
+     *             index is thrown.
+     * @throws IllegalArgumentException If the executor, the array or any of its elements
+     *             is <code>null</code>.
+     * @since 2.2.0
+     */
+    public static Version[] parallelParse(String[] versionStrings, Executor executor) {
+        return parallelParse(versionStrings, executor,
+                Runtime.getRuntime().availableProcessors());
+    }
+
+    static Version[] parallelParse(final String[] versionStrings, Executor executor,
+            int parallelism) {
+        require(versionStrings != null, "versionStrings is null");
+        require(executor != null, "executor is null");
+        final Version[] result = new Version[versionStrings.length];
+        final int[] bounds = chunkBounds(versionStrings.length, PARALLEL_PARSE_MIN_CHUNK,
+                parallelism);
+        runParallel(executor, bounds.length - 1, new ChunkTask() {
+
+            @Override
+            public void run(int chunk) {
+                parseAll(versionStrings, result, bounds[chunk], bounds[chunk + 1],
+                        new ArrayList<String>());
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Parses all elements of the given Iterable as semantic versions. Behaves as if
+     * calling {@link #parseVersion(CharSequence, int, int)} for every element, but reuses
+     * the same scratch state for collecting identifier parts across all elements.
+     *
+     * @param versionStrings The character sequences to parse.
+     * @return A new list containing the parsed versions in iteration order.
+     * @throws VersionFormatException If any of the elements is no valid version.
+     * @throws IllegalArgumentException If the Iterable or any of its elements is
+     *             <code>null</code>.
+     * @see #parseAll(String[], Version[])
+     * @since 2.2.0
+     */
+    public static List<Version> parseAll(Iterable<? extends CharSequence> versionStrings) {
+        require(versionStrings != null, "versionStrings is null");
+        final List<String> scratch = new ArrayList<String>();
+        final List<Version> result = new ArrayList<Version>();
+        for (final CharSequence versionString : versionStrings) {
+            require(versionString != null, "versionString is null");
+            result.add(parse(versionString, 0, versionString.length(), false, true,
+                    scratch));
+        }
+        return result;
+    }
+
+    /**
+     * Creates a new thread safe {@link IdentifierPool} which holds at most
+     * {@code maximumSize} distinct identifiers. The pool is pre-seeded with the common
+     * identifiers "alpha", "beta", "rc", "SNAPSHOT" and the numbers 0 to 99, which do not
+     * count towards the maximum size. Once the pool is full, further identifiers are no
+     * longer pooled but there is no eviction, so the pool keeps the first
+     * {@code maximumSize} distinct identifiers for as long as it is in use. It is thus
+     * best suited for applications with a known, limited set of identifiers. Lookups
+     * and insertions are lock free and do not allocate when an identifier is already
+     * pooled.
+     *
+     * @param maximumSize The maximum number of pooled identifiers.
+     * @return The new pool.
+     * @throws IllegalArgumentException If {@code maximumSize} is lower than 1 or
+     *             unreasonably large.
+     * @since 2.2.0
+     */
+    public static IdentifierPool newIdentifierPool(int maximumSize) {
+        require(maximumSize > 0, "maximumSize < 1");
+        require(maximumSize <= MAX_IDENTIFIER_POOL_SIZE, "maximumSize too large");
+        return new BoundedIdentifierPool(maximumSize);
+    }
+
+    /**
+     * Globally replaces the pool from which pre-release and build meta data identifiers
+     * are obtained while parsing. By default, only the identifiers with which
+     * {@link #newIdentifierPool(int)} seeds its pools are shared and no further
+     * identifiers are pooled. Pooling of further identifiers can be enabled by passing a
+     * pool created by {@link #newIdentifierPool(int)} and disabled entirely by passing
+     * {@link IdentifierPool#NONE}.
+     *
+     * @param pool The pool to use.
+     * @throws IllegalArgumentException If {@code pool} is <code>null</code>.
+     * @since 2.2.0
+     */
+    public static void setIdentifierPool(IdentifierPool pool) {
+        require(pool != null, "pool is null");
+        identifierPool = pool;
+    }
+
+    /**
+     * Gets the pool from which pre-release and build meta data identifiers are currently
+     * obtained while parsing.
+     *
+     * @return The current pool.
+     * @since 2.2.0
+     */
+    public static IdentifierPool getIdentifierPool() {
+        return identifierPool;
     }
 
     /**
@@ -1522,10 +2740,10 @@ public final class Version implements Comparable<Version>, Serializable {
      *         release part.
      */
     public String[] getPreReleaseParts() {
-        if (this.preReleaseParts.length == 0) {
+        if (preReleaseParts().length == 0) {
             return EMPTY_ARRAY;
         }
-        return Arrays.copyOf(this.preReleaseParts, this.preReleaseParts.length);
+        return Arrays.copyOf(preReleaseParts(), preReleaseParts().length);
     }
 
     /**
@@ -1541,7 +2759,7 @@ public final class Version implements Comparable<Version>, Serializable {
      *         has no such identifier.
      */
     public String getPreRelease() {
-        return join(this.preReleaseParts);
+        return join(preReleaseParts());
     }
 
     /**
@@ -1557,22 +2775,32 @@ public final class Version implements Comparable<Version>, Serializable {
      *         data.
      */
     public String getBuildMetaData() {
-        return join(this.buildMetaDataParts);
+        return join(buildMetaDataParts());
     }
 
     private static String join(String[] parts) {
         if (parts.length == 0) {
             return "";
         }
-        final StringBuilder b = new StringBuilder();
+        return appendJoined(new StringBuilder(), parts).toString();
+    }
+
+    private static StringBuilder appendJoined(StringBuilder b, String[] parts) {
         for (int i = 0; i < parts.length; i++) {
-            final String part = parts[i];
-            b.append(part);
-            if (i < parts.length - 1) {
-                b.append(".");
+            if (i > 0) {
+                b.append('.');
             }
+            b.append(parts[i]);
         }
-        return b.toString();
+        return b;
+    }
+
+    private static int joinedLength(String[] parts) {
+        int length = 0;
+        for (final String part : parts) {
+            length += part.length() + 1;
+        }
+        return length;
     }
 
     /**
@@ -1583,10 +2811,10 @@ public final class Version implements Comparable<Version>, Serializable {
      *         data part.
      */
     public String[] getBuildMetaDataParts() {
-        if (this.buildMetaDataParts.length == 0) {
+        if (buildMetaDataParts().length == 0) {
             return EMPTY_ARRAY;
         }
-        return Arrays.copyOf(this.buildMetaDataParts, this.buildMetaDataParts.length);
+        return Arrays.copyOf(buildMetaDataParts(), buildMetaDataParts().length);
     }
 
     /**
@@ -1606,7 +2834,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @since 2.1.0
      */
     public boolean isStable() {
-        return this.preReleaseParts.length == 0;
+        return preReleaseParts().length == 0;
     }
 
     /**
@@ -1616,7 +2844,7 @@ public final class Version implements Comparable<Version>, Serializable {
      * @see #isStable()
      */
     public boolean isPreRelease() {
-        return this.preReleaseParts.length > 0;
+        return preReleaseParts().length > 0;
     }
 
     /**
@@ -1625,29 +2853,406 @@ public final class Version implements Comparable<Version>, Serializable {
      * @return <code>true</code> iff {@link #getBuildMetaData()} is not empty.
      */
     public boolean hasBuildMetaData() {
-        return this.buildMetaDataParts.length > 0;
+        return buildMetaDataParts().length > 0;
     }
 
     /**
      * Creates a String representation of this version by joining its parts together as by
      * the semantic version specification.
+     * <p>
+     * Since 2.2.0, the String is rendered into a single, presized builder. The joined
+     * pre-release and build meta data identifiers are rendered only once.
      *
      * @return The version as a String.
      */
     @Override
     public String toString() {
-        final StringBuilder b = new StringBuilder(TO_STRING_ESTIMATE);
-        b.append(this.major).append(".")
-                .append(this.minor).append(".")
+        final Identifiers ids = this.identifiers;
+        final int capacity = TO_STRING_ESTIMATE + (ids == null
+                ? 0
+                : ids.suffix().length());
+        return appendParts(new StringBuilder(capacity)).toString();
+    }
+
+    private StringBuilder appendParts(StringBuilder b) {
+        b.append(this.major).append('.')
+                .append(this.minor).append('.')
                 .append(this.patch);
 
-        if (isPreRelease()) {
-            b.append("-").append(getPreRelease());
-        }
+        final Identifiers ids = this.identifiers;
+        return ids == null
+                ? b
+                : b.append(ids.suffix());
+    }
+
+    /**
+     * Appends the String representation of this version to the given builder. The
+     * result is the same as appending {@link #toString()} but no intermediate String is
+     * created for the whole version.
+     *
+     * @param b The builder to append to.
+     * @return The given builder.
+     * @since 2.2.0
+     */
+    public StringBuilder appendTo(StringBuilder b) {
+        require(b != null, "b is null");
+        return appendParts(b);
+    }
+
+    /**
+     * Appends the String representation of this version to the given
+     * {@link Appendable}, for example a {@link java.io.Writer Writer}. The result is the
+     * same as appending {@link #toString()} but no intermediate String is created for
+     * the whole version.
+     *
+     * @param a The target to append to.
+     * @return The given target.
+     * @throws IOException If the target throws an IOException.
+     * @since 2.2.0
+     */
+    public Appendable appendTo(Appendable a) throws IOException {
+        require(a != null, "a is null");
+        if (a instanceof StringBuilder) {
+            return appendTo((StringBuilder) a);
+        }
+
+        appendDecimal(a, this.major);
+        appendDecimal(a.append('.'), this.minor);
+        appendDecimal(a.append('.'), this.patch);
+        final Identifiers ids = this.identifiers;
+        if (ids != null) {
+            a.append(ids.suffix());
+        }
+        return a;
+    }
+
+    /**
+     * Determines the number of bytes written by {@link #encodeAscii(byte[], int)}. This
+     * is also the length of {@link #toString()}, as a version only consists of ASCII
+     * characters.
+     *
+     * @return The length of the ASCII representation of this version.
+     * @since 2.2.0
+     */
+    public int asciiLength() {
+        int length = decimalLength(this.major) + decimalLength(this.minor)
+                + decimalLength(this.patch) + 2;
+        // joinedLength accounts for the leading '-' and '+' respectively
+        length += joinedLength(preReleaseParts());
+        length += joinedLength(buildMetaDataParts());
+        return length;
+    }
+
+    /**
+     * Writes the ASCII encoded String representation of this version into the given
+     * array, starting at {@code off}. This is the same as encoding {@link #toString()}
+     * but neither creates a String nor requires a {@link Charset} encoder.
+     *
+     * @param dst The array to write to.
+     * @param off The index in {@code dst} at which the first byte is written.
+     * @return The number of bytes written, which is {@link #asciiLength()}.
+     * @throws IllegalArgumentException If {@code dst} is <code>null</code> or if there
+     *             are less than {@link #asciiLength()} bytes available after {@code off}.
+     *             Nothing is written in that case.
+     * @since 2.2.0
+     */
+    public int encodeAscii(byte[] dst, int off) {
+        require(dst != null, "dst is null");
+        final int length = asciiLength();
+        require(off >= 0 && off <= dst.length - length, "insufficient space");
+
+        int i = off;
+        i = encodeDecimal(dst, i, this.major);
+        dst[i++] = '.';
+        i = encodeDecimal(dst, i, this.minor);
+        dst[i++] = '.';
+        i = encodeDecimal(dst, i, this.patch);
+        if (isPreRelease()) {
+            dst[i++] = '-';
+            i = encodeJoined(dst, i, preReleaseParts());
+        }
+        if (hasBuildMetaData()) {
+            dst[i++] = '+';
+            i = encodeJoined(dst, i, buildMetaDataParts());
+        }
+        assert i - off == length;
+        return length;
+    }
+
+    /**
+     * Writes the ASCII encoded String representation of this version into the given
+     * buffer at its current position and advances the position by the number of bytes
+     * written.
+     *
+     * @param dst The buffer to write to.
+     * @return The number of bytes written, which is {@link #asciiLength()}.
+     * @throws IllegalArgumentException If {@code dst} is <code>null</code> or if it has
+     *             less than {@link #asciiLength()} bytes remaining. Nothing is written in
+     *             that case.
+     * @since 2.2.0
+     */
+    public int encodeAscii(ByteBuffer dst) {
+        require(dst != null, "dst is null");
+        final int length = asciiLength();
+        require(dst.remaining() >= length, "insufficient space");
+
+        if (dst.hasArray()) {
+            final int position = dst.position();
+            encodeAscii(dst.array(), dst.arrayOffset() + position);
+            dst.position(position + length);
+            return length;
+        }
+
+        encodeDecimal(dst, this.major);
+        encodeDecimal(dst.put((byte) '.'), this.minor);
+        encodeDecimal(dst.put((byte) '.'), this.patch);
+        if (isPreRelease()) {
+            encodeJoined(dst.put((byte) '-'), preReleaseParts());
+        }
         if (hasBuildMetaData()) {
-            b.append("+").append(getBuildMetaData());
+            encodeJoined(dst.put((byte) '+'), buildMetaDataParts());
+        }
+        return length;
+    }
+
+    /**
+     * Encodes this version into a byte array whose unsigned lexicographical order
+     * corresponds to the natural ordering of versions. That is, for two versions
+     * {@code v1} and {@code v2}, comparing their encodings byte by byte as unsigned
+     * values yields the same sign as {@link #compare(Version, Version)}, except that
+     * versions which only differ in their build meta data are still distinguished.
+     * This allows to use the encoding as key in ordered key-value stores or database
+     * indexes and to perform range scans directly on the stored bytes.
+     * <p>
+     * The build meta data is encoded last and orders such versions as
+     * {@link #WITH_BUILD_META_DATA_ORDER} does. The only deviation is that build meta
+     * data which only differs in leading zeroes of numeric identifiers (like {@code 01}
+     * and {@code 1}) is ordered by the amount of leading zeroes instead of being
+     * considered equal.
+     * <p>
+     * The format is not related to {@link #toString()} and can be converted back using
+     * {@link #fromSortableBytes(byte[])}.
+     *
+     * @return The order preserving encoding of this version.
+     * @since 2.2.0
+     */
+    public byte[] toSortableBytes() {
+        final byte[] result = new byte[sortableLength()];
+        final int end = encodeSortable(result, 0);
+        assert end == result.length;
+        return result;
+    }
+
+    /**
+     * Decodes a version from the encoding that is created by {@link #toSortableBytes()}.
+     *
+     * @param bytes The encoded version.
+     * @return The decoded version.
+     * @throws IllegalArgumentException If {@code bytes} is <code>null</code> or not a
+     *             valid encoding of a version.
+     * @since 2.2.0
+     */
+    public static Version fromSortableBytes(byte[] bytes) {
+        require(bytes != null, "bytes is null");
+        return fromSortableBytes(bytes, 0, bytes.length);
+    }
+
+    /**
+     * Decodes a version from the region of the given array that contains an encoding
+     * created by {@link #toSortableBytes()}.
+     *
+     * @param bytes The array containing the encoded version.
+     * @param off Index of the first byte of the encoding.
+     * @param len Length of the encoding.
+     * @return The decoded version.
+     * @throws IllegalArgumentException If {@code bytes} is <code>null</code>, if the
+     *             region is out of bounds or if it is not a valid encoding of a version.
+     * @since 2.2.0
+     */
+    public static Version fromSortableBytes(byte[] bytes, int off, int len) {
+        require(bytes != null, "bytes is null");
+        require(off >= 0 && len >= 0 && off <= bytes.length - len, "invalid region");
+        return new SortableDecoder(bytes, off, off + len).decode();
+    }
+
+    private int sortableLength() {
+        return SORTABLE_CORE_LENGTH
+                + sortableSectionLength(preReleaseParts(), false)
+                + sortableSectionLength(buildMetaDataParts(), true);
+    }
+
+    private int encodeSortable(byte[] dst, int off) {
+        int i = off;
+        i = encodeSortableInt(dst, i, this.major);
+        i = encodeSortableInt(dst, i, this.minor);
+        i = encodeSortableInt(dst, i, this.patch);
+        i = encodeSortableSection(dst, i, preReleaseParts(), false);
+        i = encodeSortableSection(dst, i, buildMetaDataParts(), true);
+        return i;
+    }
+
+    private static int sortableSectionLength(String[] parts, boolean leadingZeroes) {
+        if (parts.length == 0) {
+            return 1;
+        }
+        // section marker and terminator
+        int length = 2;
+        for (final String part : parts) {
+            if (isDigits(part, 0, part.length())) {
+                final int zeroes = skipLeadingZeroes(part);
+                final int digits = part.length() - zeroes;
+                length += 1 + sortableLengthLength(digits) + digits;
+                if (leadingZeroes) {
+                    length += sortableLengthLength(zeroes);
+                }
+            } else {
+                length += 1 + part.length() + 1;
+            }
+        }
+        return length;
+    }
+
+    private static int sortableLengthLength(int length) {
+        return length < SORTABLE_LONG_LENGTH
+                ? 1
+                : 5;
+    }
+
+    private static int encodeSortableInt(byte[] dst, int off, int value) {
+        dst[off] = (byte) (value >>> 24);
+        dst[off + 1] = (byte) (value >>> 16);
+        dst[off + 2] = (byte) (value >>> 8);
+        dst[off + 3] = (byte) value;
+        return off + 4;
+    }
+
+    private static int encodeSortableLength(byte[] dst, int off, int length) {
+        if (length < SORTABLE_LONG_LENGTH) {
+            dst[off] = (byte) length;
+            return off + 1;
+        }
+        dst[off] = (byte) SORTABLE_LONG_LENGTH;
+        return encodeSortableInt(dst, off + 1, length);
+    }
+
+    private static int encodeSortableSection(byte[] dst, int off, String[] parts,
+            boolean leadingZeroes) {
+        if (parts.length == 0) {
+            // a version without pre-release has higher precedence than one with
+            dst[off] = SORTABLE_ABSENT;
+            return off + 1;
+        }
+
+        int i = off;
+        dst[i++] = SORTABLE_PRESENT;
+        for (final String part : parts) {
+            if (isDigits(part, 0, part.length())) {
+                // numeric identifiers sort before alphanumeric ones. Among each other
+                // they are ordered by their amount of significant digits first
+                final int zeroes = skipLeadingZeroes(part);
+                dst[i++] = SORTABLE_NUMERIC;
+                i = encodeSortableLength(dst, i, part.length() - zeroes);
+                for (int c = zeroes; c < part.length(); ++c) {
+                    dst[i++] = (byte) part.charAt(c);
+                }
+            } else {
+                dst[i++] = SORTABLE_ALPHANUMERIC;
+                for (int c = 0; c < part.length(); ++c) {
+                    dst[i++] = (byte) part.charAt(c);
+                }
+                // sorts below all identifier chars so that a prefix sorts first
+                dst[i++] = SORTABLE_END;
+            }
+        }
+        // sorts below both identifier tags so that fewer identifiers sort first
+        dst[i++] = SORTABLE_END;
+
+        if (leadingZeroes) {
+            // identifiers that only differ in leading zeroes have equal precedence, so
+            // their amount only serves as tie breaker after all identifiers
+            for (final String part : parts) {
+                if (isDigits(part, 0, part.length())) {
+                    i = encodeSortableLength(dst, i, skipLeadingZeroes(part));
+                }
+            }
+        }
+        return i;
+    }
+
+    private static int decimalLength(int value) {
+        // value is never negative
+        int length = 1;
+        while (value >= DECIMAL) {
+            value /= DECIMAL;
+            ++length;
+        }
+        return length;
+    }
+
+    private static int encodeDecimal(byte[] dst, int off, int value) {
+        final int end = off + decimalLength(value);
+        int i = end;
+        do {
+            dst[--i] = (byte) ('0' + value % DECIMAL);
+            value /= DECIMAL;
+        } while (value > 0);
+        return end;
+    }
+
+    private static void encodeDecimal(ByteBuffer dst, int value) {
+        int divisor = 1;
+        while (value / divisor >= DECIMAL) {
+            divisor *= DECIMAL;
+        }
+        for (; divisor > 0; divisor /= DECIMAL) {
+            dst.put((byte) ('0' + value / divisor % DECIMAL));
+        }
+    }
+
+    private static int encodeJoined(byte[] dst, int off, String[] parts) {
+        int i = off;
+        for (int p = 0; p < parts.length; ++p) {
+            if (p > 0) {
+                dst[i++] = '.';
+            }
+            final String part = parts[p];
+            for (int c = 0; c < part.length(); ++c) {
+                dst[i++] = (byte) part.charAt(c);
+            }
+        }
+        return i;
+    }
+
+    private static void encodeJoined(ByteBuffer dst, String[] parts) {
+        for (int p = 0; p < parts.length; ++p) {
+            if (p > 0) {
+                dst.put((byte) '.');
+            }
+            final String part = parts[p];
+            for (int c = 0; c < part.length(); ++c) {
+                dst.put((byte) part.charAt(c));
+            }
+        }
+    }
+
+    private static void appendDecimal(Appendable a, int value) throws IOException {
+        // value is never negative
+        int divisor = 1;
+        while (value / divisor >= DECIMAL) {
+            divisor *= DECIMAL;
+        }
+        for (; divisor > 0; divisor /= DECIMAL) {
+            a.append((char) ('0' + value / divisor % DECIMAL));
+        }
+    }
+
+    private static void appendJoined(Appendable a, String[] parts) throws IOException {
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) {
+                a.append('.');
+            }
+            a.append(parts[i]);
         }
-        return b.toString();
     }
 
     /**
@@ -1659,18 +3264,12 @@ public final class Version implements Comparable<Version>, Serializable {
      */
     @Override
     public int hashCode() {
-        final int h = this.hash;
-        if (h == NOT_YET_CALCULATED) {
-            this.hash = calculateHashCode();
-        }
-        return this.hash;
-    }
-
-    private int calculateHashCode() {
+        // Since 2.2.0 the hash code is no longer cached in a field. Strings cache their
+        // own hash codes, so this is only a few arithmetic operations
         int h = HASH_PRIME + this.major;
         h = HASH_PRIME * h + this.minor;
         h = HASH_PRIME * h + this.patch;
-        h = HASH_PRIME * h + Arrays.hashCode(this.preReleaseParts);
+        h = HASH_PRIME * h + Arrays.hashCode(preReleaseParts());
         return h;
     }
 
@@ -1754,8 +3353,8 @@ public final class Version implements Comparable<Version>, Serializable {
      */
     public Version toUpperCase() {
         return new Version(this.major, this.minor, this.patch,
-                copyCase(this.preReleaseParts, true),
-                copyCase(this.buildMetaDataParts, true));
+                copyCase(preReleaseParts(), true),
+                copyCase(buildMetaDataParts(), true));
     }
 
     /**
@@ -1766,8 +3365,8 @@ public final class Version implements Comparable<Version>, Serializable {
      */
     public Version toLowerCase() {
         return new Version(this.major, this.minor, this.patch,
-                copyCase(this.preReleaseParts, false),
-                copyCase(this.buildMetaDataParts, false));
+                copyCase(preReleaseParts(), false),
+                copyCase(buildMetaDataParts(), false));
     }
 
     private static String[] copyCase(String[] source, boolean toUpper) {
@@ -1845,18 +3444,2906 @@ public final class Version implements Comparable<Version>, Serializable {
     }
 
     /**
-     * Handles proper deserialization of objects serialized with a version prior to 1.1.0
+     * Replaces this version with a {@link SerializationProxy} which writes a compact
+     * binary form. Streams written this way can not be read by versions prior to 2.2.0.
+     *
+     * @return The proxy.
+     * @since 2.2.0
+     */
+    private Object writeReplace() {
+        return new SerializationProxy(this);
+    }
+
+    /**
+     * Reads the serialized form written by all versions prior to 2.2.0. As the fields
+     * of this instance are final, the read state is handed to {@link #readResolve()} as
+     * the String representation from which it creates the actual instance. A thread
+     * local is used for that instead of a field, so that instances do not carry a field
+     * that is only needed during deserialization.
+     *
+     * @param in The stream to read from.
+     * @throws IOException If reading fails.
+     * @throws ClassNotFoundException If a class of the serialized form can not be found.
+     * @since 2.2.0
+     */
+    private void readObject(ObjectInputStream in)
+            throws IOException, ClassNotFoundException {
+        final ObjectInputStream.GetField fields = in.readFields();
+        final StringBuilder b = new StringBuilder(TO_STRING_ESTIMATE)
+                .append(fields.get("major", 0)).append('.')
+                .append(fields.get("minor", 0)).append('.')
+                .append(fields.get("patch", 0));
+        appendSerialized(b, '-', (String[]) fields.get("preReleaseParts", null),
+                (String) fields.get("preRelease", null));
+        appendSerialized(b, '+', (String[]) fields.get("buildMetaDataParts", null),
+                (String) fields.get("buildMetaData", null));
+        DESERIALIZED.set(b.toString());
+    }
+
+    private static void appendSerialized(StringBuilder b, char separator,
+            String[] parts, String legacy) {
+        if (parts != null && parts.length > 0) {
+            appendJoined(b.append(separator), parts);
+        } else if (legacy != null && !legacy.isEmpty()) {
+            b.append(separator).append(legacy);
+        }
+    }
+
+    /**
+     * Creates the actual instance from the state read by
+     * {@link #readObject(ObjectInputStream)}. The state is validated just like any other
+     * input.
      *
      * @return the deserialized object.
      * @throws ObjectStreamException If deserialization fails.
      * @since 1.1.0
      */
     private Object readResolve() throws ObjectStreamException {
-        if (this.preRelease != null || this.buildMetaData != null) {
-            return createInternal(this.major, this.minor, this.patch,
-                    this.preRelease,
-                    this.buildMetaData);
+        final String string = DESERIALIZED.get();
+        DESERIALIZED.remove();
+        if (string == null) {
+            throw new InvalidObjectException("no version state read");
+        }
+        try {
+            return parseVersion(string);
+        } catch (final VersionFormatException e) {
+            throw invalidObject(e);
+        } catch (final IllegalArgumentException e) {
+            throw invalidObject(e);
+        }
+    }
+
+    private static InvalidObjectException invalidObject(RuntimeException cause) {
+        final InvalidObjectException e = new InvalidObjectException(cause.getMessage());
+        e.initCause(cause);
+        return e;
+    }
+
+    /**
+     * Determines the number of bytes written by {@link #writeTo(DataOutput)} and
+     * {@link #writeTo(ByteBuffer)}.
+     *
+     * @return The length of the compact binary form of this version.
+     * @since 2.2.0
+     */
+    public int compactLength() {
+        return varLongLength(this.major)
+                + varLongLength(this.minor)
+                + varLongLength(this.patch)
+                + compactSectionLength(preReleaseParts())
+                + compactSectionLength(buildMetaDataParts());
+    }
+
+    /**
+     * Writes this version in a compact binary form which can be read back using
+     * {@link #readFrom(DataInput)}. The form is schema free and self delimiting, so
+     * versions can be written back to back or embedded into other binary data. It is
+     * also the form used by Java serialization.
+     * <p>
+     * The major, minor and patch part are written as unsigned varints (7 bits per byte,
+     * least significant group first, the high bit marking that more bytes follow). They
+     * are followed by the pre-release and then the build meta data section. A section
+     * is the varint count of its identifiers followed by the identifiers. Each
+     * identifier starts with a varint header whose lowest bit tells whether it is a
+     * number. If so, the remaining bits are its value. Otherwise they are the length of
+     * the identifier whose ASCII chars follow. Numeric identifiers with leading zeroes
+     * or which are too large to fit into 62 bits are written as text.
+     * <p>
+     * A plain version like {@code 1.2.3} thus takes 5 bytes.
+     *
+     * @param out The output to write to.
+     * @throws IOException If writing fails.
+     * @throws IllegalArgumentException If {@code out} is <code>null</code>.
+     * @since 2.2.0
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        require(out != null, "out is null");
+        writeVarLong(out, this.major);
+        writeVarLong(out, this.minor);
+        writeVarLong(out, this.patch);
+        writeCompactSection(out, preReleaseParts());
+        writeCompactSection(out, buildMetaDataParts());
+    }
+
+    /**
+     * Writes this version in the compact binary form described at
+     * {@link #writeTo(DataOutput)} into the given buffer at its current position and
+     * advances the position by the number of bytes written.
+     *
+     * @param dst The buffer to write to.
+     * @return The number of bytes written, which is {@link #compactLength()}.
+     * @throws IllegalArgumentException If {@code dst} is <code>null</code> or if it has
+     *             less than {@link #compactLength()} bytes remaining. Nothing is written
+     *             in that case.
+     * @since 2.2.0
+     */
+    public int writeTo(ByteBuffer dst) {
+        require(dst != null, "dst is null");
+        final int length = compactLength();
+        require(dst.remaining() >= length, "insufficient space");
+        writeVarLong(dst, this.major);
+        writeVarLong(dst, this.minor);
+        writeVarLong(dst, this.patch);
+        writeCompactSection(dst, preReleaseParts());
+        writeCompactSection(dst, buildMetaDataParts());
+        return length;
+    }
+
+    /**
+     * Reads a version that has been written by {@link #writeTo(DataOutput)}. The
+     * identifiers are validated just like parsed input.
+     *
+     * @param in The input to read from.
+     * @return The version.
+     * @throws IOException If reading fails, including an {@link java.io.EOFException}
+     *             if the input ends within the version.
+     * @throws VersionFormatException If an identifier is not valid.
+     * @throws IllegalArgumentException If {@code in} is <code>null</code> or if it does
+     *             not contain a well formed version.
+     * @since 2.2.0
+     * @see #readFrom(DataInput, boolean)
+     */
+    public static Version readFrom(DataInput in) throws IOException {
+        return readFrom(in, false);
+    }
+
+    /**
+     * Reads a version that has been written by {@link #writeTo(DataOutput)}. If
+     * {@code trusted} is true, the chars of textual identifiers are not validated. This
+     * must only be used for input which is known to have been written by
+     * {@link #writeTo(DataOutput)}, for example from a store which is exclusively
+     * written by the application itself. The structure of the input as well as the
+     * major, minor and patch parts are always checked.
+     *
+     * @param in The input to read from.
+     * @param trusted Whether to skip the validation of identifiers.
+     * @return The version.
+     * @throws IOException If reading fails, including an {@link java.io.EOFException}
+     *             if the input ends within the version.
+     * @throws VersionFormatException If {@code trusted} is false and an identifier is
+     *             not valid.
+     * @throws IllegalArgumentException If {@code in} is <code>null</code> or if it does
+     *             not contain a well formed version.
+     * @since 2.2.0
+     */
+    public static Version readFrom(DataInput in, boolean trusted) throws IOException {
+        require(in != null, "in is null");
+        final int major = readVarInt(in);
+        final int minor = readVarInt(in);
+        final int patch = readVarInt(in);
+        final String[] preRelease = readCompactSection(in, false, trusted);
+        final String[] buildMetaData = readCompactSection(in, true, trusted);
+        return new Version(major, minor, patch, preRelease, buildMetaData);
+    }
+
+    /**
+     * Reads a version that has been written by {@link #writeTo(ByteBuffer)} from the
+     * given buffer, starting at its current position. The position is advanced to the
+     * end of the version. The identifiers are validated just like parsed input.
+     *
+     * @param src The buffer to read from.
+     * @return The version.
+     * @throws BufferUnderflowException If the buffer ends within the version.
+     * @throws VersionFormatException If an identifier is not valid.
+     * @throws IllegalArgumentException If {@code src} is <code>null</code> or if it
+     *             does not contain a well formed version.
+     * @since 2.2.0
+     * @see #readFrom(ByteBuffer, boolean)
+     */
+    public static Version readFrom(ByteBuffer src) {
+        return readFrom(src, false);
+    }
+
+    /**
+     * Reads a version that has been written by {@link #writeTo(ByteBuffer)} from the
+     * given buffer, starting at its current position. The position is advanced to the
+     * end of the version. See {@link #readFrom(DataInput, boolean)} for the meaning of
+     * {@code trusted}.
+     *
+     * @param src The buffer to read from.
+     * @param trusted Whether to skip the validation of identifiers.
+     * @return The version.
+     * @throws BufferUnderflowException If the buffer ends within the version.
+     * @throws VersionFormatException If {@code trusted} is false and an identifier is
+     *             not valid.
+     * @throws IllegalArgumentException If {@code src} is <code>null</code> or if it
+     *             does not contain a well formed version.
+     * @since 2.2.0
+     */
+    public static Version readFrom(ByteBuffer src, boolean trusted) {
+        require(src != null, "src is null");
+        final int major = readVarInt(src);
+        final int minor = readVarInt(src);
+        final int patch = readVarInt(src);
+        final String[] preRelease = readCompactSection(src, false, trusted);
+        final String[] buildMetaData = readCompactSection(src, true, trusted);
+        return new Version(major, minor, patch, preRelease, buildMetaData);
+    }
+
+    private static int compactSectionLength(String[] parts) {
+        int length = varLongLength(parts.length);
+        for (final String part : parts) {
+            final long number = compactNumber(part);
+            if (number >= 0) {
+                length += varLongLength(number << 1 | 1);
+            } else {
+                length += varLongLength((long) part.length() << 1) + part.length();
+            }
+        }
+        return length;
+    }
+
+    private static void writeCompactSection(DataOutput out, String[] parts)
+            throws IOException {
+        writeVarLong(out, parts.length);
+        for (final String part : parts) {
+            final long number = compactNumber(part);
+            if (number >= 0) {
+                writeVarLong(out, number << 1 | 1);
+            } else {
+                writeVarLong(out, (long) part.length() << 1);
+                out.writeBytes(part);
+            }
+        }
+    }
+
+    private static void writeCompactSection(ByteBuffer dst, String[] parts) {
+        writeVarLong(dst, parts.length);
+        for (final String part : parts) {
+            final long number = compactNumber(part);
+            if (number >= 0) {
+                writeVarLong(dst, number << 1 | 1);
+            } else {
+                writeVarLong(dst, (long) part.length() << 1);
+                for (int i = 0; i < part.length(); ++i) {
+                    dst.put((byte) part.charAt(i));
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the value of the identifier if it can be written as a number without
+     * losing information, -1 otherwise.
+     */
+    private static long compactNumber(String part) {
+        if (part.length() > 1 && part.charAt(0) == '0') {
+            return -1;
+        }
+        final long value = numericValue(part);
+        return value <= MAX_COMPACT_NUMBER ? value : -1;
+    }
+
+    private static int varLongLength(long value) {
+        int length = 1;
+        for (long v = value >>> VARINT_SHIFT; v != 0; v >>>= VARINT_SHIFT) {
+            ++length;
+        }
+        return length;
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        long v = value;
+        while ((v & ~VARINT_MASK) != 0) {
+            out.writeByte((int) (v & VARINT_MASK) | VARINT_MORE);
+            v >>>= VARINT_SHIFT;
+        }
+        out.writeByte((int) v);
+    }
+
+    private static void writeVarLong(ByteBuffer dst, long value) {
+        long v = value;
+        while ((v & ~VARINT_MASK) != 0) {
+            dst.put((byte) ((v & VARINT_MASK) | VARINT_MORE));
+            v >>>= VARINT_SHIFT;
+        }
+        dst.put((byte) v);
+    }
+
+    private static String[] readCompactSection(DataInput in, boolean buildMetaData,
+            boolean trusted) throws IOException {
+        final int count = readVarInt(in);
+        if (count == 0) {
+            return EMPTY_ARRAY;
+        }
+
+        // count is not trusted, so the array grows as identifiers are actually read
+        final StringBuilder b = new StringBuilder();
+        String[] parts = new String[Math.min(count, COMPACT_INITIAL_PARTS)];
+        for (int i = 0; i < count; ++i) {
+            if (i == parts.length) {
+                parts = Arrays.copyOf(parts, (int) Math.min(count, 2L * i));
+            }
+
+            b.setLength(0);
+            final long header = readVarLong(in);
+            if ((header & 1) == 1) {
+                parts[i] = compactNumber(b, header);
+            } else {
+                final int length = compactTextLength(header);
+                for (int j = 0; j < length; ++j) {
+                    b.append((char) in.readUnsignedByte());
+                }
+                parts[i] = compactText(b, 0, length, buildMetaData, trusted);
+            }
+        }
+        return parts;
+    }
+
+    private static String[] readCompactSection(ByteBuffer src, boolean buildMetaData,
+            boolean trusted) {
+        final int count = readVarInt(src);
+        if (count == 0) {
+            return EMPTY_ARRAY;
+        }
+        // the remaining bytes limit the count, as each identifier takes at least one
+        if (count > src.remaining()) {
+            throw new BufferUnderflowException();
+        }
+
+        // textual identifiers are taken directly from the buffer's content
+        final CharSequence chars = src.hasArray()
+                ? new AsciiSequence(src.array(), src.arrayOffset(), src.limit())
+                : new AsciiBufferSequence(src, 0, src.limit());
+        StringBuilder b = null;
+        final String[] parts = new String[count];
+        for (int i = 0; i < count; ++i) {
+            final long header = readVarLong(src);
+            if ((header & 1) == 1) {
+                b = b == null ? new StringBuilder() : b;
+                b.setLength(0);
+                parts[i] = compactNumber(b, header);
+            } else {
+                final int length = compactTextLength(header);
+                if (length > src.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                final int start = src.position();
+                src.position(start + length);
+                parts[i] = compactText(chars, start, start + length, buildMetaData,
+                        trusted);
+            }
+        }
+        return parts;
+    }
+
+    private static int compactTextLength(long header) {
+        final long length = header >>> 1;
+        require(length > 0 && length <= Integer.MAX_VALUE, MALFORMED_COMPACT);
+        return (int) length;
+    }
+
+    private static String compactNumber(StringBuilder b, long header) {
+        // larger numbers are written as text
+        require(header >= 0, MALFORMED_COMPACT);
+        b.append(header >>> 1);
+        return identifierPool.identifier(b, 0, b.length());
+    }
+
+    private static String compactText(CharSequence s, int start, int end,
+            boolean buildMetaData, boolean trusted) {
+        if (!trusted) {
+            parseIDPart(s, start, end, start, false, buildMetaData, false, false,
+                    buildMetaData ? "build-meta-data" : "pre-release");
+        }
+        return identifierPool.identifier(s, start, end);
+    }
+
+    private static int readVarInt(DataInput in) throws IOException {
+        final long value = readVarLong(in);
+        require(value >= 0 && value <= Integer.MAX_VALUE, MALFORMED_COMPACT);
+        return (int) value;
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINT_SHIFT) {
+            final int b = in.readUnsignedByte();
+            // the tenth byte only contributes the most significant bit
+            require(shift < LAST_VARINT_SHIFT || b <= 1, MALFORMED_COMPACT);
+            result |= (long) (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException(MALFORMED_COMPACT);
+    }
+
+    private static int readVarInt(ByteBuffer src) {
+        final long value = readVarLong(src);
+        require(value >= 0 && value <= Integer.MAX_VALUE, MALFORMED_COMPACT);
+        return (int) value;
+    }
+
+    private static long readVarLong(ByteBuffer src) {
+        long result = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += VARINT_SHIFT) {
+            final int b = src.get() & 0xFF;
+            // the tenth byte only contributes the most significant bit
+            require(shift < LAST_VARINT_SHIFT || b <= 1, MALFORMED_COMPACT);
+            result |= (long) (b & VARINT_MASK) << shift;
+            if ((b & VARINT_MORE) == 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException(MALFORMED_COMPACT);
+    }
+
+    /**
+     * A thread safe and bounded cache that maps version Strings to canonical
+     * {@link Version} instances. Parsing the same String multiple times through the same
+     * Interner yields the same Version instance as long as it has not been evicted in the
+     * meantime. Besides saving the costs for parsing, sharing canonical instances also
+     * speeds up comparisons and {@link Version#equals(Object) equality} checks between
+     * them.
+     *
+     * <p>
+     * Entries are keyed by the exact input String. Thus, Strings that describe equal
+     * versions but differ in their build meta data are cached as distinct entries.
+     * Invalid input is never cached.
+     *
+     * <pre>
+     * Version.Interner interner = Version.Interner.create(4096);
+     * Version v = interner.intern("1.2.3-SNAPSHOT");
+     * </pre>
+     *
+     * @author Simon Taddiken
+     * @since 2.2.0
+     */
+    public static abstract class Interner {
+
+        /**
+         * Strategies for choosing which entry to evict once an {@link Interner} reached
+         * its maximum size.
+         *
+         * @since 2.2.0
+         */
+        public static enum EvictionPolicy {
+            /**
+             * Evicts the least recently used entry. Every cache access acquires a lock
+             * in order to maintain the usage order.
+             */
+            LRU,
+            /**
+             * Approximates LRU using the CLOCK (second chance) algorithm. Cache hits do
+             * not acquire any locks, which makes this policy well suited for highly
+             * concurrent access.
+             */
+            CLOCK
+        }
+
+        private final int maximumSize;
+        private final AtomicLong hits = new AtomicLong();
+        private final AtomicLong misses = new AtomicLong();
+
+        private Interner(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /**
+         * Creates a new Interner which holds at most {@code maximumSize} entries and
+         * uses the {@link EvictionPolicy#CLOCK CLOCK} eviction policy.
+         *
+         * @param maximumSize The maximum number of cached versions.
+         * @return The new Interner.
+         * @throws IllegalArgumentException If {@code maximumSize} is lower than 1.
+         */
+        public static Interner create(int maximumSize) {
+            return create(maximumSize, EvictionPolicy.CLOCK);
+        }
+
+        /**
+         * Creates a new Interner which holds at most {@code maximumSize} entries and
+         * uses the given eviction policy.
+         *
+         * @param maximumSize The maximum number of cached versions.
+         * @param policy The eviction policy.
+         * @return The new Interner.
+         * @throws IllegalArgumentException If {@code maximumSize} is lower than 1 or
+         *             {@code policy} is <code>null</code>.
+         */
+        public static Interner create(int maximumSize, EvictionPolicy policy) {
+            require(maximumSize > 0, "maximumSize < 1");
+            require(policy != null, "policy is null");
+            switch (policy) {
+            case LRU:
+                return new LruInterner(maximumSize);
+            case CLOCK:
+                return new ClockInterner(maximumSize);
+            default:
+                throw new IllegalStateException("Unknown policy: " + policy);
+            }
+        }
+
+        /**
+         * Returns the canonical Version instance for the given String. If the String is
+         * not yet cached, it will be parsed and the result will be cached, possibly
+         * evicting another entry.
+         *
+         * @param versionString The String to parse.
+         * @return The canonical version instance.
+         * @throws VersionFormatException If the String is no valid version.
+         * @throws IllegalArgumentException If {@code versionString} is
+         *             <code>null</code>.
+         */
+        public Version intern(String versionString) {
+            require(versionString != null, "versionString is null");
+            final Version cached = lookup(versionString);
+            if (cached != null) {
+                this.hits.incrementAndGet();
+                return cached;
+            }
+            this.misses.incrementAndGet();
+            // parse outside of any lock. Concurrent misses for the same key might parse
+            // the String multiple times but only a single instance will be cached
+            final Version parsed = parseVersion(versionString);
+            return store(versionString, parsed);
+        }
+
+        /**
+         * Gets the maximum number of entries this Interner holds.
+         *
+         * @return The maximum size.
+         */
+        public int getMaximumSize() {
+            return this.maximumSize;
+        }
+
+        /**
+         * Gets the number of calls to {@link #intern(String)} that could be served from
+         * the cache.
+         *
+         * @return The number of cache hits.
+         */
+        public long getHitCount() {
+            return this.hits.get();
+        }
+
+        /**
+         * Gets the number of calls to {@link #intern(String)} that required parsing the
+         * input. This includes calls with invalid input.
+         *
+         * @return The number of cache misses.
+         */
+        public long getMissCount() {
+            return this.misses.get();
+        }
+
+        /**
+         * Gets the ratio of cache hits to all calls of {@link #intern(String)}. Returns
+         * 1.0 if there have been no calls yet.
+         *
+         * @return The hit rate between 0.0 and 1.0.
+         */
+        public double getHitRate() {
+            final long h = this.hits.get();
+            final long total = h + this.misses.get();
+            return total == 0
+                    ? 1.0
+                    : (double) h / total;
+        }
+
+        /**
+         * Gets the number of currently cached entries.
+         *
+         * @return The current size.
+         */
+        public abstract int size();
+
+        /**
+         * Removes all cached entries. Hit and miss statistics are not reset.
+         */
+        public abstract void clear();
+
+        abstract Version lookup(String key);
+
+        abstract Version store(String key, Version version);
+
+        @Override
+        public String toString() {
+            return getClass().getSimpleName() + "[size=" + size()
+                    + ", maximumSize=" + this.maximumSize
+                    + ", hits=" + getHitCount()
+                    + ", misses=" + getMissCount() + "]";
+        }
+    }
+
+    private static final class LruInterner extends Interner {
+
+        private final Map<String, Version> cache;
+
+        private LruInterner(final int maximumSize) {
+            super(maximumSize);
+            this.cache = new LinkedHashMap<String, Version>(16, 0.75f, true) {
+
+                private static final long serialVersionUID = 1L;
+
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, Version> eldest) {
+                    return size() > maximumSize;
+                }
+            };
+        }
+
+        @Override
+        Version lookup(String key) {
+            synchronized (this.cache) {
+                return this.cache.get(key);
+            }
+        }
+
+        @Override
+        Version store(String key, Version version) {
+            synchronized (this.cache) {
+                final Version existing = this.cache.get(key);
+                if (existing != null) {
+                    return existing;
+                }
+                this.cache.put(key, version);
+                return version;
+            }
+        }
+
+        @Override
+        public int size() {
+            synchronized (this.cache) {
+                return this.cache.size();
+            }
+        }
+
+        @Override
+        public void clear() {
+            synchronized (this.cache) {
+                this.cache.clear();
+            }
+        }
+    }
+
+    private static final class ClockInterner extends Interner {
+
+        private static final class Entry {
+            private final String key;
+            private final Version version;
+            private volatile boolean referenced;
+
+            private Entry(String key, Version version) {
+                this.key = key;
+                this.version = version;
+            }
+        }
+
+        private final ConcurrentMap<String, Entry> cache;
+        // guarded by 'this'
+        private final Entry[] clock;
+        private int hand;
+        private int used;
+
+        private ClockInterner(int maximumSize) {
+            super(maximumSize);
+            this.cache = new ConcurrentHashMap<String, Entry>();
+            this.clock = new Entry[maximumSize];
+        }
+
+        @Override
+        Version lookup(String key) {
+            final Entry entry = this.cache.get(key);
+            if (entry == null) {
+                return null;
+            }
+            // avoid needless writes to shared memory
+            if (!entry.referenced) {
+                entry.referenced = true;
+            }
+            return entry.version;
+        }
+
+        @Override
+        synchronized Version store(String key, Version version) {
+            final Entry existing = this.cache.get(key);
+            if (existing != null) {
+                return existing.version;
+            }
+
+            final Entry entry = new Entry(key, version);
+            if (this.used < this.clock.length) {
+                this.clock[this.used++] = entry;
+            } else {
+                // give every referenced entry a second chance until we find one that has
+                // not been used since the hand passed it the last time
+                Entry victim = this.clock[this.hand];
+                while (victim.referenced) {
+                    victim.referenced = false;
+                    this.hand = (this.hand + 1) % this.clock.length;
+                    victim = this.clock[this.hand];
+                }
+                this.cache.remove(victim.key);
+                this.clock[this.hand] = entry;
+                this.hand = (this.hand + 1) % this.clock.length;
+            }
+            this.cache.put(key, entry);
+            return version;
+        }
+
+        @Override
+        public int size() {
+            return this.cache.size();
+        }
+
+        @Override
+        public synchronized void clear() {
+            this.cache.clear();
+            Arrays.fill(this.clock, null);
+            this.hand = 0;
+            this.used = 0;
+        }
+    }
+
+    /**
+     * A pool of pre-release and build meta data identifier Strings. When parsing a
+     * version, every identifier part is obtained from the pool that has been
+     * {@link Version#setIdentifierPool(IdentifierPool) installed} globally. This allows
+     * many Version instances to share the same String instances for common identifiers
+     * like "SNAPSHOT" or "rc" instead of each holding its own copy.
+     *
+     * <p>
+     * Implementations must be thread safe and should be bounded in size.
+     *
+     * @author Simon Taddiken
+     * @since 2.2.0
+     * @see Version#newIdentifierPool(int)
+     */
+    public static interface IdentifierPool {
+
+        /**
+         * Pool implementation which does not pool anything but creates a new String for
+         * every identifier.
+         */
+        IdentifierPool NONE = new IdentifierPool() {
+
+            @Override
+            public String identifier(CharSequence source, int start, int end) {
+                return source.subSequence(start, end).toString();
+            }
+        };
+
+        /**
+         * Returns a String consisting of the chars in the region {@code [start, end)} of
+         * the given sequence. The result might be a shared instance. The region is
+         * guaranteed to be a valid identifier part and thus to only consist of ASCII
+         * alphanumerics and hyphens.
+         *
+         * @param source The sequence containing the identifier.
+         * @param start Index of the identifier's first char (inclusive).
+         * @param end Index of the identifier's end (exclusive).
+         * @return A String with the same chars as the region.
+         */
+        String identifier(CharSequence source, int start, int end);
+    }
+
+    /**
+     * Bounded lock free hash table of identifier Strings using open addressing. Once the
+     * pool is full, identifiers that are not yet pooled are simply returned as new
+     * Strings. With a maximum size of 0, only the seed identifiers are pooled.
+     */
+    private static final class BoundedIdentifierPool implements IdentifierPool {
+
+        private static final String[] SEED = { "alpha", "beta", "rc", "SNAPSHOT" };
+        private static final int SEED_NUMBERS = 100;
+        private static final int MAX_PROBES = 8;
+
+        private final AtomicReferenceArray<String> table;
+        private final AtomicInteger size = new AtomicInteger();
+        private final int maximumSize;
+        private final int mask;
+
+        private BoundedIdentifierPool(int maximumSize) {
+            // seeded identifiers do not count towards the maximum size
+            final int entries = maximumSize + SEED.length + SEED_NUMBERS;
+            // keep the load factor at or below 0.5 so that probe sequences stay short
+            final int capacity = Integer.highestOneBit(entries * 2 - 1) << 1;
+            this.table = new AtomicReferenceArray<String>(capacity);
+            this.mask = capacity - 1;
+            this.maximumSize = maximumSize;
+
+            for (final String seed : SEED) {
+                seed(seed);
+            }
+            for (int i = 0; i < SEED_NUMBERS; ++i) {
+                seed(String.valueOf(i));
+            }
+        }
+
+        private void seed(String identifier) {
+            int index = spread(identifier.hashCode()) & this.mask;
+            while (!this.table.compareAndSet(index, null, identifier)) {
+                index = (index + 1) & this.mask;
+            }
+        }
+
+        @Override
+        public String identifier(CharSequence source, int start, int end) {
+            int h = 0;
+            for (int i = start; i < end; ++i) {
+                h = HASH_PRIME * h + source.charAt(i);
+            }
+
+            int index = spread(h) & this.mask;
+            for (int probe = 0; probe < MAX_PROBES; ++probe) {
+                String pooled = this.table.get(index);
+                if (pooled == null && reserve()) {
+                    final String created = source.subSequence(start, end).toString();
+                    if (this.table.compareAndSet(index, null, created)) {
+                        return created;
+                    }
+                    // lost the race for this slot, check what has been put there
+                    this.size.decrementAndGet();
+                    pooled = this.table.get(index);
+                }
+                if (pooled == null) {
+                    break;
+                } else if (pooled.hashCode() == h
+                        && regionEquals(pooled, source, start, end)) {
+                    return pooled;
+                }
+                index = (index + 1) & this.mask;
+            }
+            return source.subSequence(start, end).toString();
+        }
+
+        /**
+         * Reserves room for one more identifier before it is published, so that racing
+         * insertions can not exceed the maximum size.
+         */
+        private boolean reserve() {
+            int current;
+            do {
+                current = this.size.get();
+                if (current >= this.maximumSize) {
+                    return false;
+                }
+            } while (!this.size.compareAndSet(current, current + 1));
+            return true;
+        }
+
+        private static int spread(int h) {
+            return h ^ (h >>> 16);
+        }
+
+        private static boolean regionEquals(String s, CharSequence source, int start,
+                int end) {
+            if (s.length() != end - start) {
+                return false;
+            }
+            for (int i = 0; i < s.length(); ++i) {
+                if (s.charAt(i) != source.charAt(start + i)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * A compact, column oriented array of versions for holding millions of them. The
+     * major, minor and patch parts are kept in primitive {@code int[]} columns. The
+     * pre-release and build meta data identifiers are dictionary encoded: each distinct
+     * identifier String is stored once and elements refer to it by an int code. An
+     * element without pre-release and build meta data thus takes 16 bytes, compared to
+     * a {@link Version} object plus the reference to it taking about 44 bytes.
+     *
+     * <p>
+     * Elements are accessed by their index. They can be {@link #compare(int, int)
+     * compared} and {@link #sort() sorted} without creating any Version objects.
+     * {@link #get(int)} creates a Version on demand.
+     *
+     * <pre>
+     * Version.VersionArray array = Version.VersionArray.of(versions);
+     * array.sort();
+     * Version lowest = array.get(0);
+     * </pre>
+     *
+     * <p>
+     * Instances must not be accessed concurrently while they are being sorted.
+     * Otherwise, all methods may be called concurrently once the instance has been
+     * safely published.
+     *
+     * @author Simon Taddiken
+     * @since 2.2.0
+     */
+    public static final class VersionArray {
+
+        // separates the pre-release from the build meta data codes of an element. It is
+        // only stored if the element has build meta data
+        private static final int BUILD_META_DATA = -1;
+
+        private final int size;
+        private int[] majors;
+        private int[] minors;
+        private int[] patches;
+        // the codes of element i are stored in codes[offsets[i], offsets[i + 1])
+        private int[] offsets;
+        private int[] codes;
+
+        // the distinct identifiers, indexed by their code
+        private final String[] dictionary;
+        // position of each code in the precedence order of the identifiers. Identifiers
+        // which only differ in leading zeroes share the same rank
+        private final int[] ranks;
+
+        private VersionArray(int size, int[] majors, int[] minors, int[] patches,
+                int[] offsets, int[] codes, String[] dictionary) {
+            this.size = size;
+            this.majors = majors;
+            this.minors = minors;
+            this.patches = patches;
+            this.offsets = offsets;
+            this.codes = codes;
+            this.dictionary = dictionary;
+            this.ranks = rank(dictionary);
+        }
+
+        private static int[] rank(final String[] dictionary) {
+            final long[] numbers = numericValues(dictionary);
+            final Integer[] order = new Integer[dictionary.length];
+            for (int i = 0; i < order.length; ++i) {
+                order[i] = i;
+            }
+            final Comparator<Integer> precedence = new Comparator<Integer>() {
+
+                @Override
+                public int compare(Integer code1, Integer code2) {
+                    return compareIdentifierParts(dictionary[code1], numbers[code1],
+                            dictionary[code2], numbers[code2]);
+                }
+            };
+            Arrays.sort(order, precedence);
+
+            final int[] ranks = new int[dictionary.length];
+            int rank = 0;
+            for (int i = 0; i < order.length; ++i) {
+                if (i > 0 && precedence.compare(order[i - 1], order[i]) != 0) {
+                    ++rank;
+                }
+                ranks[order[i]] = rank;
+            }
+            return ranks;
+        }
+
+        /**
+         * Creates an array containing the given versions in the given order.
+         *
+         * @param versions The versions.
+         * @return The array.
+         * @throws IllegalArgumentException If {@code versions} or any of its elements is
+         *             <code>null</code>.
+         */
+        public static VersionArray of(Version... versions) {
+            require(versions != null, "versions is null");
+            return of(Arrays.asList(versions));
+        }
+
+        /**
+         * Creates an array containing the given versions in iteration order.
+         *
+         * @param versions The versions.
+         * @return The array.
+         * @throws IllegalArgumentException If {@code versions} or any of its elements is
+         *             <code>null</code>.
+         */
+        public static VersionArray of(Collection<? extends Version> versions) {
+            require(versions != null, "versions is null");
+            final Builder builder = new Builder(versions.size());
+            for (final Version version : versions) {
+                builder.add(version);
+            }
+            return builder.build();
+        }
+
+        /**
+         * Creates a builder for adding versions one by one, for example while reading
+         * them from a file. This avoids holding all the Version objects at once.
+         *
+         * @return A new builder.
+         */
+        public static Builder builder() {
+            return new Builder(Builder.DEFAULT_CAPACITY);
+        }
+
+        /**
+         * Returns the number of versions in this array.
+         *
+         * @return The size.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Creates a {@link Version} for the element at the given index. Its identifier
+         * Strings are shared with the dictionary of this array.
+         *
+         * @param index The index of the element.
+         * @return The version.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public Version get(int index) {
+            checkIndex(index);
+            final int start = this.offsets[index];
+            final int end = this.offsets[index + 1];
+            final int split = preReleaseEnd(index);
+            return new Version(this.majors[index], this.minors[index], this.patches[index],
+                    identifiers(start, split),
+                    identifiers(Math.min(split + 1, end), end));
+        }
+
+        /**
+         * Returns the major part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The major part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getMajor(int index) {
+            checkIndex(index);
+            return this.majors[index];
+        }
+
+        /**
+         * Returns the minor part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The minor part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getMinor(int index) {
+            checkIndex(index);
+            return this.minors[index];
+        }
+
+        /**
+         * Returns the patch part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The patch part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getPatch(int index) {
+            checkIndex(index);
+            return this.patches[index];
+        }
+
+        /**
+         * Whether the element at the given index has no pre-release identifiers.
+         *
+         * @param index The index of the element.
+         * @return Whether the element is a stable version.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         * @see Version#isStable()
+         */
+        public boolean isStable(int index) {
+            checkIndex(index);
+            return preReleaseEnd(index) == this.offsets[index];
+        }
+
+        /**
+         * Whether the element at the given index has build meta data.
+         *
+         * @param index The index of the element.
+         * @return Whether the element has build meta data.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         * @see Version#hasBuildMetaData()
+         */
+        public boolean hasBuildMetaData(int index) {
+            checkIndex(index);
+            return preReleaseEnd(index) < this.offsets[index + 1];
+        }
+
+        /**
+         * Compares the elements at the given indexes like
+         * {@link Version#compare(Version, Version)} does.
+         *
+         * @param index1 Index of the first element.
+         * @param index2 Index of the second element.
+         * @return A value lower than 0 if the first element is lower, a value greater
+         *         than 0 if it is greater and 0 if both are equal.
+         * @throws IndexOutOfBoundsException If an index is out of bounds.
+         */
+        public int compare(int index1, int index2) {
+            checkIndex(index1);
+            checkIndex(index2);
+            return compareElements(index1, index2, false);
+        }
+
+        /**
+         * Compares the elements at the given indexes like
+         * {@link Version#compareWithBuildMetaData(Version, Version)} does.
+         *
+         * @param index1 Index of the first element.
+         * @param index2 Index of the second element.
+         * @return A value lower than 0 if the first element is lower, a value greater
+         *         than 0 if it is greater and 0 if both are equal.
+         * @throws IndexOutOfBoundsException If an index is out of bounds.
+         */
+        public int compareWithBuildMetaData(int index1, int index2) {
+            checkIndex(index1);
+            checkIndex(index2);
+            return compareElements(index1, index2, true);
+        }
+
+        /**
+         * Sorts the elements of this array in place according to their natural order.
+         * The sort is stable, so the result is the same as that of sorting the Version
+         * objects with {@link java.util.Arrays#sort(Object[])}. A permutation of the
+         * indexes is sorted first, so the elements are moved only once. This temporarily
+         * requires as much memory as the array itself.
+         */
+        public void sort() {
+            final long[] keys = new long[this.size];
+            for (int i = 0; i < this.size; ++i) {
+                keys[i] = sortKey(this.majors[i], this.minors[i], this.patches[i],
+                        preReleaseEnd(i) == this.offsets[i]);
+            }
+            permute(new IndexSort() {
+
+                @Override
+                int compare(int index1, int index2) {
+                    return compareSorting(index1, index2, keys);
+                }
+            }.sort(this.size));
+        }
+
+        private void checkIndex(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: "
+                        + this.size);
+            }
+        }
+
+        private int preReleaseEnd(int index) {
+            final int end = this.offsets[index + 1];
+            for (int i = this.offsets[index]; i < end; ++i) {
+                if (this.codes[i] == BUILD_META_DATA) {
+                    return i;
+                }
+            }
+            return end;
+        }
+
+        private String[] identifiers(int start, int end) {
+            if (start == end) {
+                return EMPTY_ARRAY;
+            }
+            final String[] result = new String[end - start];
+            for (int i = 0; i < result.length; ++i) {
+                result[i] = this.dictionary[this.codes[start + i]];
+            }
+            return result;
+        }
+
+        private int compareElements(int index1, int index2, boolean withBuildMetaData) {
+            if (this.majors[index1] != this.majors[index2]) {
+                return compareInt(this.majors[index1], this.majors[index2]);
+            } else if (this.minors[index1] != this.minors[index2]) {
+                return compareInt(this.minors[index1], this.minors[index2]);
+            } else if (this.patches[index1] != this.patches[index2]) {
+                return compareInt(this.patches[index1], this.patches[index2]);
+            }
+
+            final int split1 = preReleaseEnd(index1);
+            final int split2 = preReleaseEnd(index2);
+            final int result = compareCodes(this.offsets[index1], split1,
+                    this.offsets[index2], split2);
+            if (result != 0 || !withBuildMetaData) {
+                return result;
+            }
+            final int end1 = this.offsets[index1 + 1];
+            final int end2 = this.offsets[index2 + 1];
+            return compareCodes(Math.min(split1 + 1, end1), end1,
+                    Math.min(split2 + 1, end2), end2);
+        }
+
+        /**
+         * Compares two ranges of codes with the same semantics as
+         * {@link Version#compareLiterals(String[], long[], String[], long[])}.
+         */
+        private int compareCodes(int start1, int end1, int start2, int end2) {
+            if (start1 == end1 || start2 == end2) {
+                // the one without identifiers is greater
+                return compareInt(start1 == end1 ? 1 : 0, start2 == end2 ? 1 : 0);
+            }
+            final int length = Math.min(end1 - start1, end2 - start2);
+            for (int i = 0; i < length; ++i) {
+                final int code1 = this.codes[start1 + i];
+                final int code2 = this.codes[start2 + i];
+                if (code1 != code2 && this.ranks[code1] != this.ranks[code2]) {
+                    return compareInt(this.ranks[code1], this.ranks[code2]);
+                }
+            }
+            return compareInt(end1 - start1, end2 - start2);
+        }
+
+        private int compareSorting(int index1, int index2, long[] keys) {
+            final long key1 = keys[index1];
+            final long key2 = keys[index2];
+            if (key1 != UNPACKED && key2 != UNPACKED) {
+                if (key1 != key2) {
+                    return key1 < key2 ? -1 : 1;
+                } else if ((key1 & STABLE_BIT) != 0) {
+                    return 0;
+                }
+            }
+            return compareElements(index1, index2, false);
+        }
+
+        private void permute(int[] order) {
+            final int[] newMajors = new int[this.size];
+            final int[] newMinors = new int[this.size];
+            final int[] newPatches = new int[this.size];
+            final int[] newOffsets = new int[this.size + 1];
+            final int[] newCodes = new int[this.codes.length];
+            for (int i = 0; i < this.size; ++i) {
+                final int index = order[i];
+                newMajors[i] = this.majors[index];
+                newMinors[i] = this.minors[index];
+                newPatches[i] = this.patches[index];
+                final int start = this.offsets[index];
+                final int length = this.offsets[index + 1] - start;
+                System.arraycopy(this.codes, start, newCodes, newOffsets[i], length);
+                newOffsets[i + 1] = newOffsets[i] + length;
+            }
+            this.majors = newMajors;
+            this.minors = newMinors;
+            this.patches = newPatches;
+            this.offsets = newOffsets;
+            this.codes = newCodes;
+        }
+
+        /**
+         * Collects versions for a {@link VersionArray}. Builders are not thread safe.
+         *
+         * @author Simon Taddiken
+         * @since 2.2.0
+         */
+        public static final class Builder {
+
+            private static final int DEFAULT_CAPACITY = 16;
+
+            private int size;
+            private int[] majors;
+            private int[] minors;
+            private int[] patches;
+            private int[] offsets;
+            private int[] codes;
+            private int codeCount;
+            private final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+            private final List<String> identifiers = new ArrayList<String>();
+
+            private Builder(int capacity) {
+                this.majors = new int[capacity];
+                this.minors = new int[capacity];
+                this.patches = new int[capacity];
+                this.offsets = new int[capacity + 1];
+                this.codes = new int[DEFAULT_CAPACITY];
+            }
+
+            /**
+             * Appends the given version.
+             *
+             * @param version The version to add.
+             * @return This builder.
+             * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+             */
+            public Builder add(Version version) {
+                require(version != null, "version is null");
+                if (this.size == this.majors.length) {
+                    final int capacity = Math.max(DEFAULT_CAPACITY, 2 * this.size);
+                    this.majors = Arrays.copyOf(this.majors, capacity);
+                    this.minors = Arrays.copyOf(this.minors, capacity);
+                    this.patches = Arrays.copyOf(this.patches, capacity);
+                    this.offsets = Arrays.copyOf(this.offsets, capacity + 1);
+                }
+                this.majors[this.size] = version.major;
+                this.minors[this.size] = version.minor;
+                this.patches[this.size] = version.patch;
+
+                for (final String part : version.preReleaseParts()) {
+                    addCode(code(part));
+                }
+                final String[] buildMetaData = version.buildMetaDataParts();
+                if (buildMetaData.length > 0) {
+                    addCode(BUILD_META_DATA);
+                    for (final String part : buildMetaData) {
+                        addCode(code(part));
+                    }
+                }
+                this.offsets[++this.size] = this.codeCount;
+                return this;
+            }
+
+            private int code(String identifier) {
+                final Integer existing = this.dictionary.get(identifier);
+                if (existing != null) {
+                    return existing;
+                }
+                final int code = this.identifiers.size();
+                this.identifiers.add(identifier);
+                this.dictionary.put(identifier, code);
+                return code;
+            }
+
+            private void addCode(int code) {
+                if (this.codeCount == this.codes.length) {
+                    this.codes = Arrays.copyOf(this.codes, 2 * this.codeCount);
+                }
+                this.codes[this.codeCount++] = code;
+            }
+
+            /**
+             * Creates an array containing all versions that have been added so far. The
+             * builder can still be used afterwards.
+             *
+             * @return The array.
+             */
+            public VersionArray build() {
+                return new VersionArray(this.size,
+                        Arrays.copyOf(this.majors, this.size),
+                        Arrays.copyOf(this.minors, this.size),
+                        Arrays.copyOf(this.patches, this.size),
+                        Arrays.copyOf(this.offsets, this.size + 1),
+                        Arrays.copyOf(this.codes, this.codeCount),
+                        this.identifiers.toArray(new String[this.identifiers.size()]));
+            }
+        }
+    }
+
+    /**
+     * An off-heap store of versions for catalogs too large for the heap. Versions are
+     * kept in their {@link Version#toSortableBytes() order preserving encoding} in
+     * direct {@link ByteBuffer ByteBuffers}, so the garbage collector only sees a
+     * handful of buffer objects no matter how many versions are stored. A fixed size
+     * index entry per version, which is stored off-heap as well, locates its encoding.
+     *
+     * <p>
+     * As the encoding preserves the precedence rules of
+     * {@link Version#compare(Version, Version)}, elements are compared by comparing
+     * their bytes. Thus {@link #compare(int, int) comparisons},
+     * {@link #binarySearch(Version) lookups} and {@link #sort() sorting} work directly on
+     * the encoded form without creating any Version objects. Single parts can be read
+     * without decoding the whole version, while {@link #get(int)} creates a Version on
+     * demand.
+     *
+     * <pre>
+     * Version.VersionStore.Builder builder = Version.VersionStore.builder();
+     * for (String line : lines) {
+     *     builder.add(Version.parseVersion(line));
+     * }
+     * Version.VersionStore store = builder.build();
+     * store.sort();
+     * int index = store.binarySearch(Version.create(1, 2, 3));
+     * </pre>
+     *
+     * <p>
+     * A store can be {@link #writeTo(File) written} to a catalog file and later be
+     * {@link #map(File) memory mapped} from it. Mapping only reads the header of the
+     * file, the pages of the file are loaded lazily by the operating system when
+     * elements are accessed. Thus a service can start up with a catalog of millions of
+     * versions without parsing any of them:
+     *
+     * <pre>
+     * // once, when the catalog changes
+     * store.writeTo(new File("versions.catalog"));
+     *
+     * // at startup
+     * Version.VersionStore catalog = Version.VersionStore.map(new File("versions.catalog"));
+     * int from = catalog.lowerBound(Version.create(2, 0, 0));
+     * int to = catalog.lowerBound(Version.create(3, 0, 0));
+     * </pre>
+     *
+     * <p>
+     * The memory of a store is released when it becomes unreachable. This includes the
+     * mapping of the file. Instances must not be accessed concurrently while they are
+     * being sorted. Otherwise, all methods may be called concurrently once the instance
+     * has been safely published.
+     *
+     * @author Simon Taddiken
+     * @since 2.2.0
+     */
+    public static final class VersionStore implements Iterable<Version> {
+
+        // largest size of a page, so that offsets within pages are ints
+        private static final int MAX_PAGE_SIZE = 1 << 30;
+        // the page being filled is kept on the heap while building, see Pages
+        private static final int DEFAULT_PAGE_SIZE = 1 << 24;
+        private static final int INITIAL_PAGE_SIZE = 1 << 12;
+
+        // layout of an index entry: page and offset of the encoding within the page,
+        // the length of the encoding up to the build meta data, up to the end of the
+        // build meta data section and the total length
+        private static final int ENTRY_PAGE = 0;
+        private static final int ENTRY_OFFSET = 4;
+        private static final int ENTRY_NATURAL_LENGTH = 8;
+        private static final int ENTRY_META_DATA_LENGTH = 12;
+        private static final int ENTRY_LENGTH = 16;
+        private static final int ENTRY_SIZE = 20;
+
+        // layout of the header of a catalog file, which is followed by the length of each
+        // data and index page and then by the pages themselves
+        private static final int FILE_MAGIC = 0x53454d56;
+        private static final int FILE_FORMAT = 1;
+        private static final int FILE_SORTED = 1;
+        private static final int FILE_HEADER_LENGTH = 28;
+
+        private final int size;
+        private final int pageSize;
+        private final int entriesPerPage;
+        private final ByteBuffer[] data;
+        private ByteBuffer[] index;
+        private boolean sorted;
+
+        private VersionStore(int size, int pageSize, ByteBuffer[] data,
+                ByteBuffer[] index, boolean sorted) {
+            this.size = size;
+            this.pageSize = pageSize;
+            this.entriesPerPage = pageSize / ENTRY_SIZE;
+            this.data = data;
+            this.index = index;
+            this.sorted = sorted;
+        }
+
+        /**
+         * Creates a store containing the given versions in iteration order.
+         *
+         * @param versions The versions.
+         * @return The store.
+         * @throws IllegalArgumentException If {@code versions} or any of its elements is
+         *             <code>null</code>.
+         */
+        public static VersionStore of(Collection<? extends Version> versions) {
+            require(versions != null, "versions is null");
+            final Builder builder = builder();
+            for (final Version version : versions) {
+                builder.add(version);
+            }
+            return builder.build();
+        }
+
+        /**
+         * Creates a builder for adding versions one by one.
+         *
+         * @return A new builder.
+         */
+        public static Builder builder() {
+            return new Builder(DEFAULT_PAGE_SIZE);
+        }
+
+        static Builder builder(int pageSize) {
+            return new Builder(pageSize);
+        }
+
+        /**
+         * Memory maps a catalog file that has been written by {@link #writeTo(File)}. Only
+         * the header of the file is read and validated. The returned store reads its
+         * elements directly from the mapped file, so the file must not be modified while
+         * the store is in use. The file is considered to be trusted: a corrupted page is
+         * only detected, if at all, when an element within it is accessed.
+         *
+         * <p>
+         * Whether the store is sorted is restored from the file. Sorting a mapped store
+         * does not modify the file.
+         *
+         * @param file The file to map.
+         * @return The store.
+         * @throws IOException If reading or mapping the file fails or if the file is not
+         *             a well formed catalog file.
+         * @throws IllegalArgumentException If {@code file} is <code>null</code>.
+         */
+        public static VersionStore map(File file) throws IOException {
+            require(file != null, "file is null");
+            final RandomAccessFile raf = new RandomAccessFile(file, "r");
+            try {
+                final FileChannel channel = raf.getChannel();
+                final ByteBuffer header = readFully(channel, 0, FILE_HEADER_LENGTH);
+                if (header.getInt() != FILE_MAGIC) {
+                    throw new IOException("not a version catalog: " + file);
+                }
+                final int format = header.getInt();
+                if (format != FILE_FORMAT) {
+                    throw new IOException("unsupported catalog format: " + format);
+                }
+                final int flags = header.getInt();
+                final int size = header.getInt();
+                final int pageSize = header.getInt();
+                final int dataPages = header.getInt();
+                final int indexPages = header.getInt();
+                // validate each value on its own before combining them. All arithmetic
+                // is done in long, so that a corrupt header can not overflow a check
+                if (size < 0 || pageSize < ENTRY_SIZE || pageSize > MAX_PAGE_SIZE
+                        || dataPages < 0 || indexPages < 0) {
+                    throw new IOException("malformed catalog header");
+                }
+                final long entriesPerPage = pageSize / ENTRY_SIZE;
+                final long pageCount = (long) dataPages + indexPages;
+                if (indexPages != (size + entriesPerPage - 1) / entriesPerPage
+                        || FILE_HEADER_LENGTH + 4 * pageCount > channel.size()) {
+                    throw new IOException("malformed catalog header");
+                }
+
+                final ByteBuffer lengths = readFully(channel, FILE_HEADER_LENGTH,
+                        4 * pageCount);
+                long position = FILE_HEADER_LENGTH + 4 * pageCount;
+                final ByteBuffer[] data = new ByteBuffer[dataPages];
+                final ByteBuffer[] index = new ByteBuffer[indexPages];
+                for (int i = 0; i < pageCount; ++i) {
+                    final int length = lengths.getInt();
+                    final long entries = Math.min(entriesPerPage,
+                            size - (long) (i - dataPages) * entriesPerPage);
+                    if (length < 0 || length > pageSize
+                            || i >= dataPages && length < entries * ENTRY_SIZE
+                            || position + length > channel.size()) {
+                        throw new IOException("malformed catalog page: " + i);
+                    }
+                    final ByteBuffer page = channel.map(FileChannel.MapMode.READ_ONLY,
+                            position, length);
+                    if (i < dataPages) {
+                        data[i] = page;
+                    } else {
+                        index[i - dataPages] = page;
+                    }
+                    position += length;
+                }
+                if (position != channel.size()) {
+                    throw new IOException("malformed catalog: trailing bytes");
+                }
+                return new VersionStore(size, pageSize, data, index,
+                        (flags & FILE_SORTED) != 0);
+            } finally {
+                // mappings stay valid after the channel has been closed
+                raf.close();
+            }
+        }
+
+        private static ByteBuffer readFully(FileChannel channel, long position,
+                long length) throws IOException {
+            if (position + length > channel.size()) {
+                throw new IOException("malformed catalog: file too short");
+            }
+            final ByteBuffer buffer = ByteBuffer.allocate((int) length);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, position + buffer.position()) < 0) {
+                    throw new IOException("malformed catalog: file too short");
+                }
+            }
+            buffer.flip();
+            return buffer;
+        }
+
+        /**
+         * Writes this store to the given catalog file, which can later be
+         * {@link #map(File) memory mapped}. An existing file is overwritten. The pages of
+         * this store are written as they are, so this method does not create any Version
+         * objects either.
+         *
+         * @param file The file to write to.
+         * @throws IOException If writing fails.
+         * @throws IllegalArgumentException If {@code file} is <code>null</code>.
+         */
+        public void writeTo(File file) throws IOException {
+            require(file != null, "file is null");
+            final int pageCount = this.data.length + this.index.length;
+            final ByteBuffer header = ByteBuffer.allocate(
+                    FILE_HEADER_LENGTH + 4 * pageCount);
+            header.putInt(FILE_MAGIC)
+                    .putInt(FILE_FORMAT)
+                    .putInt(this.sorted ? FILE_SORTED : 0)
+                    .putInt(this.size)
+                    .putInt(this.pageSize)
+                    .putInt(this.data.length)
+                    .putInt(this.index.length);
+            for (final ByteBuffer page : this.data) {
+                header.putInt(page.capacity());
+            }
+            for (final ByteBuffer page : this.index) {
+                header.putInt(page.capacity());
+            }
+            header.flip();
+
+            final FileOutputStream out = new FileOutputStream(file);
+            try {
+                final FileChannel channel = out.getChannel();
+                writeFully(channel, header);
+                for (final ByteBuffer page : this.data) {
+                    writeFully(channel, (ByteBuffer) page.duplicate().clear());
+                }
+                for (final ByteBuffer page : this.index) {
+                    writeFully(channel, (ByteBuffer) page.duplicate().clear());
+                }
+            } finally {
+                out.close();
+            }
+        }
+
+        private static void writeFully(FileChannel channel, ByteBuffer buffer)
+                throws IOException {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+
+        /**
+         * Returns the number of versions in this store.
+         *
+         * @return The size.
+         */
+        public int size() {
+            return this.size;
+        }
+
+        /**
+         * Whether this store is known to be sorted, because {@link #sort()} has been
+         * called or because it has been {@link #map(File) mapped} from a file that has
+         * been written by a sorted store.
+         *
+         * @return Whether this store is sorted.
+         */
+        public boolean isSorted() {
+            return this.sorted;
+        }
+
+        /**
+         * Returns an iterator which decodes the elements of this store one by one.
+         *
+         * @return The iterator.
+         */
+        @Override
+        public Iterator<Version> iterator() {
+            return iterator(0, this.size);
+        }
+
+        /**
+         * Returns an iterator which decodes the elements in the given index range one by
+         * one. Together with {@link #lowerBound(Version)}, this iterates over a range of
+         * versions of a sorted store.
+         *
+         * @param fromIndex The index of the first element, inclusive.
+         * @param toIndex The index of the last element, exclusive.
+         * @return The iterator.
+         * @throws IndexOutOfBoundsException If the range is out of bounds.
+         */
+        public Iterator<Version> iterator(final int fromIndex, final int toIndex) {
+            if (fromIndex < 0 || toIndex > this.size || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException("fromIndex: " + fromIndex
+                        + ", toIndex: " + toIndex + ", size: " + this.size);
+            }
+            return new Iterator<Version>() {
+
+                private int next = fromIndex;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < toIndex;
+                }
+
+                @Override
+                public Version next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return get(this.next++);
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        /**
+         * Decodes the version at the given index.
+         *
+         * @param index The index of the element.
+         * @return The version.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public Version get(int index) {
+            final int entry = entry(index);
+            final ByteBuffer indexPage = indexPage(index);
+            final ByteBuffer page = this.data[indexPage.getInt(entry + ENTRY_PAGE)]
+                    .duplicate();
+            page.position(indexPage.getInt(entry + ENTRY_OFFSET));
+            final byte[] bytes = new byte[indexPage.getInt(entry + ENTRY_LENGTH)];
+            page.get(bytes);
+            return fromSortableBytes(bytes);
+        }
+
+        /**
+         * Returns the major part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The major part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getMajor(int index) {
+            return coreInt(index, 0);
+        }
+
+        /**
+         * Returns the minor part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The minor part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getMinor(int index) {
+            return coreInt(index, 4);
+        }
+
+        /**
+         * Returns the patch part of the element at the given index.
+         *
+         * @param index The index of the element.
+         * @return The patch part.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public int getPatch(int index) {
+            return coreInt(index, 8);
+        }
+
+        /**
+         * Whether the element at the given index has no pre-release identifiers.
+         *
+         * @param index The index of the element.
+         * @return Whether the element is a stable version.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         * @see Version#isStable()
+         */
+        public boolean isStable(int index) {
+            final int entry = entry(index);
+            final ByteBuffer indexPage = indexPage(index);
+            return this.data[indexPage.getInt(entry + ENTRY_PAGE)]
+                    .get(indexPage.getInt(entry + ENTRY_OFFSET) + SORTABLE_CORE_LENGTH)
+                    == SORTABLE_ABSENT;
+        }
+
+        /**
+         * Whether the element at the given index has build meta data.
+         *
+         * @param index The index of the element.
+         * @return Whether the element has build meta data.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         * @see Version#hasBuildMetaData()
+         */
+        public boolean hasBuildMetaData(int index) {
+            final int entry = entry(index);
+            final ByteBuffer indexPage = indexPage(index);
+            // an absent section is encoded as a single marker byte
+            return indexPage.getInt(entry + ENTRY_META_DATA_LENGTH)
+                    - indexPage.getInt(entry + ENTRY_NATURAL_LENGTH) > 1;
+        }
+
+        /**
+         * Compares the elements at the given indexes like
+         * {@link Version#compare(Version, Version)} does.
+         *
+         * @param index1 Index of the first element.
+         * @param index2 Index of the second element.
+         * @return A value lower than 0 if the first element is lower, a value greater
+         *         than 0 if it is greater and 0 if both are equal.
+         * @throws IndexOutOfBoundsException If an index is out of bounds.
+         */
+        public int compare(int index1, int index2) {
+            entry(index1);
+            entry(index2);
+            return compareEntries(index1, index2, false);
+        }
+
+        /**
+         * Compares the elements at the given indexes like
+         * {@link Version#compareWithBuildMetaData(Version, Version)} does.
+         *
+         * @param index1 Index of the first element.
+         * @param index2 Index of the second element.
+         * @return A value lower than 0 if the first element is lower, a value greater
+         *         than 0 if it is greater and 0 if both are equal.
+         * @throws IndexOutOfBoundsException If an index is out of bounds.
+         */
+        public int compareWithBuildMetaData(int index1, int index2) {
+            entry(index1);
+            entry(index2);
+            return compareEntries(index1, index2, true);
+        }
+
+        /**
+         * Compares the element at the given index to the given version like
+         * {@link Version#compare(Version, Version)} does.
+         *
+         * @param index Index of the element.
+         * @param version The version to compare to.
+         * @return A value lower than 0 if the element is lower, a value greater than 0 if
+         *         it is greater and 0 if both are equal.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public int compare(int index, Version version) {
+            entry(index);
+            require(version != null, "version is null");
+            return compareTo(index, new Probe(version));
+        }
+
+        /**
+         * Searches for an element that is equal to the given version according to
+         * {@link Version#compare(Version, Version)}, using binary search. This store
+         * must be {@link #sort() sorted}, otherwise the result is undefined. If there
+         * are multiple equal elements, there is no guarantee which one is found.
+         *
+         * @param version The version to search for.
+         * @return The index of a matching element, if any. Otherwise
+         *         {@code (-(insertion point) - 1)} where the insertion point is the index
+         *         of the first greater element or {@link #size()} if all elements are
+         *         lower. Like in {@link Arrays#binarySearch(Object[], Object)}, the
+         *         result is &gt;= 0 if and only if a match is found.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public int binarySearch(Version version) {
+            require(version != null, "version is null");
+            final Probe probe = new Probe(version);
+            int low = 0;
+            int high = this.size - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final int c = compareTo(mid, probe);
+                if (c < 0) {
+                    low = mid + 1;
+                } else if (c > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        /**
+         * Returns the index of the first element which is greater than or equal to the
+         * given version according to {@link Version#compare(Version, Version)}, or
+         * {@link #size()} if all elements are lower. This store must be
+         * {@link #sort() sorted}, otherwise the result is undefined. The elements within
+         * {@code [lowerBound(from), lowerBound(to))} are those within
+         * {@code [from, to)}.
+         *
+         * @param version The version to search for.
+         * @return The index of the first element which is not lower.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public int lowerBound(Version version) {
+            require(version != null, "version is null");
+            return bound(new Probe(version), false);
+        }
+
+        /**
+         * Returns the index of the first element which is greater than the given version
+         * according to {@link Version#compare(Version, Version)}, or {@link #size()} if
+         * no element is greater. This store must be {@link #sort() sorted}, otherwise the
+         * result is undefined. The elements within
+         * {@code [lowerBound(from), upperBound(to))} are those within
+         * {@code [from, to]}.
+         *
+         * @param version The version to search for.
+         * @return The index of the first greater element.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public int upperBound(Version version) {
+            require(version != null, "version is null");
+            return bound(new Probe(version), true);
+        }
+
+        /**
+         * Index of the first element which is greater than the probe or, if
+         * {@code orEqual} is false, which is greater than or equal to it.
+         */
+        private int bound(Probe probe, boolean orEqual) {
+            final int limit = orEqual ? 0 : -1;
+            int low = 0;
+            int high = this.size - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                if (compareTo(mid, probe) <= limit) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Sorts the elements of this store in place according to their natural order.
+         * The sort is stable, so the result is the same as that of sorting the Version
+         * objects with {@link java.util.Arrays#sort(Object[])}. Only the index is
+         * rewritten, the encoded versions are not moved. Sorting temporarily requires 8
+         * bytes of heap per element.
+         */
+        public void sort() {
+            final int[] order = new IndexSort() {
+
+                @Override
+                int compare(int index1, int index2) {
+                    return compareEntries(index1, index2, false);
+                }
+            }.sort(this.size);
+
+            final Pages sorted = new Pages(this.pageSize);
+            final byte[] entry = new byte[ENTRY_SIZE];
+            for (final int index : order) {
+                final ByteBuffer page = indexPage(index).duplicate();
+                page.position(entry(index));
+                page.get(entry);
+                sorted.reserve(ENTRY_SIZE).put(entry);
+            }
+            this.index = sorted.finish();
+            this.sorted = true;
+        }
+
+        private int entry(int index) {
+            if (index < 0 || index >= this.size) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: "
+                        + this.size);
+            }
+            return index % this.entriesPerPage * ENTRY_SIZE;
+        }
+
+        private ByteBuffer indexPage(int index) {
+            return this.index[index / this.entriesPerPage];
+        }
+
+        private int coreInt(int index, int offset) {
+            final int entry = entry(index);
+            final ByteBuffer indexPage = indexPage(index);
+            return this.data[indexPage.getInt(entry + ENTRY_PAGE)]
+                    .getInt(indexPage.getInt(entry + ENTRY_OFFSET) + offset);
+        }
+
+        private int compareEntries(int index1, int index2, boolean withBuildMetaData) {
+            final ByteBuffer indexPage1 = indexPage(index1);
+            final ByteBuffer indexPage2 = indexPage(index2);
+            final int entry1 = index1 % this.entriesPerPage * ENTRY_SIZE;
+            final int entry2 = index2 % this.entriesPerPage * ENTRY_SIZE;
+            final ByteBuffer page1 = this.data[indexPage1.getInt(entry1 + ENTRY_PAGE)];
+            final ByteBuffer page2 = this.data[indexPage2.getInt(entry2 + ENTRY_PAGE)];
+            final int offset1 = indexPage1.getInt(entry1 + ENTRY_OFFSET);
+            final int offset2 = indexPage2.getInt(entry2 + ENTRY_OFFSET);
+            final int natural1 = indexPage1.getInt(entry1 + ENTRY_NATURAL_LENGTH);
+            final int natural2 = indexPage2.getInt(entry2 + ENTRY_NATURAL_LENGTH);
+
+            final int result = compareBytes(page1, offset1, natural1, page2, offset2,
+                    natural2);
+            if (result != 0 || !withBuildMetaData) {
+                return result;
+            }
+            // the leading zeroes that follow the build meta data section are left out,
+            // as they only break ties which compareWithBuildMetaData does not
+            return compareBytes(
+                    page1, offset1 + natural1,
+                    indexPage1.getInt(entry1 + ENTRY_META_DATA_LENGTH) - natural1,
+                    page2, offset2 + natural2,
+                    indexPage2.getInt(entry2 + ENTRY_META_DATA_LENGTH) - natural2);
+        }
+
+        private int compareTo(int index, Probe probe) {
+            final int entry = index % this.entriesPerPage * ENTRY_SIZE;
+            final ByteBuffer indexPage = indexPage(index);
+            return compareBytes(
+                    this.data[indexPage.getInt(entry + ENTRY_PAGE)],
+                    indexPage.getInt(entry + ENTRY_OFFSET),
+                    indexPage.getInt(entry + ENTRY_NATURAL_LENGTH),
+                    probe.bytes, 0, probe.naturalLength);
+        }
+
+        /**
+         * Compares two regions as unsigned bytes, eight bytes at a time.
+         */
+        private static int compareBytes(ByteBuffer b1, int off1, int len1, ByteBuffer b2,
+                int off2, int len2) {
+            final int min = Math.min(len1, len2);
+            int i = 0;
+            for (; i + Long.SIZE / Byte.SIZE <= min; i += Long.SIZE / Byte.SIZE) {
+                final long l1 = b1.getLong(off1 + i);
+                final long l2 = b2.getLong(off2 + i);
+                if (l1 != l2) {
+                    // flipping the sign bit makes signed comparison unsigned
+                    return l1 + Long.MIN_VALUE < l2 + Long.MIN_VALUE ? -1 : 1;
+                }
+            }
+            for (; i < min; ++i) {
+                final int c1 = b1.get(off1 + i) & 0xFF;
+                final int c2 = b2.get(off2 + i) & 0xFF;
+                if (c1 != c2) {
+                    return compareInt(c1, c2);
+                }
+            }
+            return compareInt(len1, len2);
+        }
+
+        /**
+         * The encoding of a version that is compared to the stored ones.
+         */
+        private static final class Probe {
+
+            private final ByteBuffer bytes;
+            private final int naturalLength;
+
+            Probe(Version version) {
+                this.bytes = ByteBuffer.wrap(version.toSortableBytes());
+                this.naturalLength = SORTABLE_CORE_LENGTH
+                        + sortableSectionLength(version.preReleaseParts(), false);
+            }
+        }
+
+        /**
+         * Append only sequence of direct buffers of at most pageSize bytes each. The
+         * current page is filled on the heap, starting small and doubling up to
+         * pageSize. Once an entry does not fit into it anymore, the page is copied into
+         * a direct buffer of exactly its length and the next page is started. Thus
+         * every page is allocated off-heap only once.
+         */
+        private static final class Pages {
+
+            private final int pageSize;
+            private final List<ByteBuffer> pages = new ArrayList<ByteBuffer>();
+            private ByteBuffer current;
+
+            Pages(int pageSize) {
+                this.pageSize = pageSize;
+            }
+
+            /**
+             * Returns the current page, positioned at where the given amount of bytes
+             * can be written in one piece. The length must not exceed pageSize.
+             */
+            ByteBuffer reserve(int length) {
+                if (this.current != null && this.current.remaining() < length) {
+                    final int position = this.current.position();
+                    if (this.pageSize - position < length) {
+                        seal();
+                    } else {
+                        int capacity = this.current.capacity();
+                        while (capacity - position < length) {
+                            capacity = (int) Math.min(this.pageSize, 2L * capacity);
+                        }
+                        final ByteBuffer grown = ByteBuffer.allocate(capacity);
+                        this.current.flip();
+                        grown.put(this.current);
+                        this.current = grown;
+                        this.pages.set(page(), grown);
+                    }
+                }
+                if (this.current == null) {
+                    this.current = ByteBuffer.allocate(
+                            Math.min(this.pageSize, Math.max(INITIAL_PAGE_SIZE, length)));
+                    this.pages.add(this.current);
+                }
+                return this.current;
+            }
+
+            int page() {
+                return this.pages.size() - 1;
+            }
+
+            private void seal() {
+                final ByteBuffer sealed = ByteBuffer.allocateDirect(
+                        this.current.position());
+                this.current.flip();
+                sealed.put(this.current);
+                this.pages.set(page(), sealed);
+                this.current = null;
+            }
+
+            /**
+             * Seals the current page and returns all pages.
+             */
+            ByteBuffer[] finish() {
+                if (this.current != null) {
+                    seal();
+                }
+                final ByteBuffer[] result = this.pages.toArray(
+                        new ByteBuffer[this.pages.size()]);
+                this.pages.clear();
+                return result;
+            }
+        }
+
+        /**
+         * Collects versions for a {@link VersionStore}. Builders are not thread safe.
+         *
+         * @author Simon Taddiken
+         * @since 2.2.0
+         */
+        public static final class Builder {
+
+            private final int pageSize;
+            private Pages data;
+            private Pages index;
+            private int size;
+            private byte[] scratch = new byte[SORTABLE_CORE_LENGTH + 2];
+
+            private Builder(int pageSize) {
+                require(pageSize >= ENTRY_SIZE, "pageSize too small");
+                require(pageSize <= MAX_PAGE_SIZE, "pageSize too large");
+                this.pageSize = pageSize;
+                this.data = new Pages(pageSize);
+                this.index = new Pages(pageSize);
+            }
+
+            /**
+             * Appends the given version.
+             *
+             * @param version The version to add.
+             * @return This builder.
+             * @throws IllegalArgumentException If {@code version} is <code>null</code>
+             *             or if its encoding is larger than a page of the store.
+             */
+            public Builder add(Version version) {
+                require(version != null, "version is null");
+                require(this.size < Integer.MAX_VALUE, "store is full");
+                final int length = version.sortableLength();
+                require(length <= this.pageSize, "version too large");
+                if (this.scratch.length < length) {
+                    this.scratch = new byte[Math.max(length, 2 * this.scratch.length)];
+                }
+                version.encodeSortable(this.scratch, 0);
+
+                final ByteBuffer page = this.data.reserve(length);
+                final int offset = page.position();
+                page.put(this.scratch, 0, length);
+
+                final int naturalLength = SORTABLE_CORE_LENGTH
+                        + sortableSectionLength(version.preReleaseParts(), false);
+                this.index.reserve(ENTRY_SIZE)
+                        .putInt(this.data.page())
+                        .putInt(offset)
+                        .putInt(naturalLength)
+                        .putInt(naturalLength
+                                + sortableSectionLength(version.buildMetaDataParts(),
+                                        false))
+                        .putInt(length);
+                ++this.size;
+                return this;
+            }
+
+            /**
+             * Creates a store containing all versions that have been added so far. The
+             * builder is reset and can be used to build another store afterwards.
+             *
+             * @return The store.
+             */
+            public VersionStore build() {
+                final VersionStore store = new VersionStore(this.size, this.pageSize,
+                        this.data.finish(), this.index.finish(), false);
+                this.size = 0;
+                return store;
+            }
+        }
+    }
+
+    /**
+     * An immutable, sorted catalog of versions that answers the questions typically
+     * asked about the releases of an artifact in logarithmic time:
+     *
+     * <pre>
+     * Version.VersionCatalog catalog = Version.VersionCatalog.of(versions);
+     * Version newest = catalog.latestStable();
+     * Version newestTwoX = catalog.stable().latest(2);
+     * Version atLeast = catalog.ceiling(Version.create(1, 4, 0));
+     * Version previous = catalog.stable().lower(current);
+     * </pre>
+     *
+     * <p>
+     * Elements are ordered according to {@link Version#compare(Version, Version)}.
+     * Elements which are equal according to that order, because they only differ in
+     * their build meta data, keep the iteration order of the collection the catalog has
+     * been created from. All queries are binary searches on a precomputed array of the
+     * elements' packed major, minor and patch parts, so most comparisons do not need to
+     * look at the Version objects at all. The {@link #stable()} and
+     * {@link #preReleases()} views are catalogs themselves and are computed once, on
+     * first access.
+     *
+     * <p>
+     * Instances are immutable and can be shared between threads without
+     * synchronization.
+     *
+     * @author Simon Taddiken
+     * @since 2.2.0
+     */
+    public static final class VersionCatalog implements Iterable<Version> {
+
+        private static final VersionCatalog EMPTY = new VersionCatalog(
+                new Version[0], new long[0]);
+
+        private final Version[] versions;
+        private final long[] keys;
+
+        // the views are computed lazily. Computing them concurrently is harmless, as
+        // the results are equal and a catalog is safe to publish through a race
+        private volatile VersionCatalog stable;
+        private volatile VersionCatalog preReleases;
+
+        private VersionCatalog(Version[] versions, long[] keys) {
+            this.versions = versions;
+            this.keys = keys;
+        }
+
+        private static VersionCatalog sorted(Version[] versions) {
+            if (versions.length == 0) {
+                return EMPTY;
+            }
+            final long[] keys = new long[versions.length];
+            for (int i = 0; i < versions.length; ++i) {
+                keys[i] = versions[i].sortKey;
+            }
+            return new VersionCatalog(versions, keys);
+        }
+
+        /**
+         * Creates a catalog containing the given versions.
+         *
+         * @param versions The versions.
+         * @return The catalog.
+         * @throws IllegalArgumentException If {@code versions} or any of its elements is
+         *             <code>null</code>.
+         */
+        public static VersionCatalog of(Collection<? extends Version> versions) {
+            require(versions != null, "versions is null");
+            final Version[] array = versions.toArray(new Version[versions.size()]);
+            for (final Version version : array) {
+                require(version != null, "versions contains null element");
+            }
+            Version.sort(array);
+            return sorted(array);
+        }
+
+        /**
+         * Returns the number of versions in this catalog.
+         *
+         * @return The size.
+         */
+        public int size() {
+            return this.versions.length;
+        }
+
+        /**
+         * Whether this catalog contains no versions.
+         *
+         * @return Whether this catalog is empty.
+         */
+        public boolean isEmpty() {
+            return this.versions.length == 0;
+        }
+
+        /**
+         * Returns the version at the given index in ascending order.
+         *
+         * @param index The index of the element.
+         * @return The version.
+         * @throws IndexOutOfBoundsException If the index is out of bounds.
+         */
+        public Version get(int index) {
+            if (index < 0 || index >= this.versions.length) {
+                throw new IndexOutOfBoundsException("index: " + index + ", size: "
+                        + this.versions.length);
+            }
+            return this.versions[index];
+        }
+
+        /**
+         * Returns an iterator over the versions of this catalog in ascending order. The
+         * iterator does not support removal.
+         *
+         * @return The iterator.
+         */
+        @Override
+        public Iterator<Version> iterator() {
+            return new Iterator<Version>() {
+
+                private int next;
+
+                @Override
+                public boolean hasNext() {
+                    return this.next < VersionCatalog.this.versions.length;
+                }
+
+                @Override
+                public Version next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    return VersionCatalog.this.versions[this.next++];
+                }
+
+                @Override
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        /**
+         * Returns a catalog of all versions of this catalog which are
+         * {@link Version#isStable() stable}.
+         *
+         * @return The stable versions.
+         */
+        public VersionCatalog stable() {
+            VersionCatalog result = this.stable;
+            if (result == null) {
+                result = this.stable = filter(true);
+            }
+            return result;
+        }
+
+        /**
+         * Returns a catalog of all versions of this catalog which are
+         * {@link Version#isPreRelease() pre-releases}.
+         *
+         * @return The pre-release versions.
+         */
+        public VersionCatalog preReleases() {
+            VersionCatalog result = this.preReleases;
+            if (result == null) {
+                result = this.preReleases = filter(false);
+            }
+            return result;
+        }
+
+        private VersionCatalog filter(boolean stable) {
+            int count = 0;
+            for (final Version version : this.versions) {
+                if (version.isStable() == stable) {
+                    ++count;
+                }
+            }
+            if (count == this.versions.length) {
+                return this;
+            }
+            final Version[] result = new Version[count];
+            int i = 0;
+            for (final Version version : this.versions) {
+                if (version.isStable() == stable) {
+                    result[i++] = version;
+                }
+            }
+            return sorted(result);
+        }
+
+        /**
+         * Returns the greatest version of this catalog.
+         *
+         * @return The greatest version or <code>null</code> if this catalog is empty.
+         */
+        public Version latest() {
+            return at(this.versions.length - 1);
+        }
+
+        /**
+         * Returns the greatest {@link Version#isStable() stable} version of this catalog.
+         * This is the same as {@code stable().latest()}.
+         *
+         * @return The greatest stable version or <code>null</code> if there is none.
+         */
+        public Version latestStable() {
+            return stable().latest();
+        }
+
+        /**
+         * Returns the greatest version of this catalog with the given major part, for
+         * example the newest 2.x version. Use {@code stable().latest(major)} for the
+         * newest stable one.
+         *
+         * @param major The major part.
+         * @return The greatest version with that major part or <code>null</code> if there
+         *         is none.
+         */
+        public Version latest(int major) {
+            final int index = firstWithMajorAbove(major) - 1;
+            final Version result = at(index);
+            return result != null && result.major == major
+                    ? result
+                    : null;
+        }
+
+        /**
+         * Returns the least version which is greater than or equal to the given version.
+         *
+         * @param version The version to compare to.
+         * @return The least version &gt;= {@code version} or <code>null</code> if there
+         *         is none.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public Version ceiling(Version version) {
+            require(version != null, "version is null");
+            return at(bound(version, false));
+        }
+
+        /**
+         * Returns the least version which is strictly greater than the given version.
+         *
+         * @param version The version to compare to.
+         * @return The least version &gt; {@code version} or <code>null</code> if there is
+         *         none.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public Version higher(Version version) {
+            require(version != null, "version is null");
+            return at(bound(version, true));
+        }
+
+        /**
+         * Returns the greatest version which is less than or equal to the given version.
+         *
+         * @param version The version to compare to.
+         * @return The greatest version &lt;= {@code version} or <code>null</code> if
+         *         there is none.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public Version floor(Version version) {
+            require(version != null, "version is null");
+            return at(bound(version, true) - 1);
+        }
+
+        /**
+         * Returns the greatest version which is strictly less than the given version,
+         * for example the release preceding {@code version}.
+         *
+         * @param version The version to compare to.
+         * @return The greatest version &lt; {@code version} or <code>null</code> if there
+         *         is none.
+         * @throws IllegalArgumentException If {@code version} is <code>null</code>.
+         */
+        public Version lower(Version version) {
+            require(version != null, "version is null");
+            return at(bound(version, false) - 1);
+        }
+
+        private Version at(int index) {
+            return index >= 0 && index < this.versions.length
+                    ? this.versions[index]
+                    : null;
+        }
+
+        /**
+         * Index of the first element which is greater than the given version or, if
+         * {@code orEqual} is false, which is greater than or equal to it.
+         */
+        private int bound(Version version, boolean orEqual) {
+            final long key = version.sortKey;
+            int low = 0;
+            int high = this.versions.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final long midKey = this.keys[mid];
+                final int c;
+                if (key != UNPACKED && midKey != UNPACKED && key != midKey) {
+                    c = midKey < key ? -1 : 1;
+                } else {
+                    c = Version.compare(this.versions[mid], version);
+                }
+                if (c < 0 || orEqual && c == 0) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private int firstWithMajorAbove(int major) {
+            int low = 0;
+            int high = this.versions.length - 1;
+            while (low <= high) {
+                final int mid = (low + high) >>> 1;
+                final long midKey = this.keys[mid];
+                final int midMajor = midKey != UNPACKED
+                        ? (int) (midKey >>> MAJOR_SHIFT)
+                        : this.versions[mid].major;
+                if (midMajor <= major) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+    }
+
+    /**
+     * Serialized form of a {@link Version} since 2.2.0. Only the class descriptor of
+     * this proxy is written once per stream. Each version then takes up the few bytes of
+     * its compact form, which is about the length of its String representation for
+     * versions with pre-release or build meta data and even less for plain versions.
+     */
+    private static final class SerializationProxy implements Serializable {
+
+        private static final long serialVersionUID = 1L;
+
+        private transient Version version;
+
+        SerializationProxy(Version version) {
+            this.version = version;
+        }
+
+        private void writeObject(ObjectOutputStream out) throws IOException {
+            out.defaultWriteObject();
+            this.version.writeTo(out);
+        }
+
+        private void readObject(ObjectInputStream in)
+                throws IOException, ClassNotFoundException {
+            in.defaultReadObject();
+            try {
+                this.version = readFrom(in);
+            } catch (final VersionFormatException e) {
+                throw invalidObject(e);
+            } catch (final IllegalArgumentException e) {
+                throw invalidObject(e);
+            }
+        }
+
+        private Object readResolve() throws ObjectStreamException {
+            return this.version;
+        }
+    }
+
+    /**
+     * The pre-release and build meta data parts of a version which has either of them.
+     * Instances are immutable and may be shared between versions that only differ in
+     * their major, minor or patch part.
+     */
+    private static final class Identifiers {
+
+        private final String[] preReleaseParts;
+        private final String[] buildMetaDataParts;
+
+        // numeric values of the pre-release parts, -1 for non-numeric parts
+        private final long[] preReleaseNumbers;
+
+        // the joined identifiers including their leading '-' and '+'. Rendered once on
+        // first use, possibly more than once in case of concurrent access. Plain
+        // versions have no Identifiers and so do not pay for this cache
+        private volatile String suffix;
+
+        Identifiers(String[] preReleaseParts, String[] buildMetaDataParts) {
+            this.preReleaseParts = preReleaseParts;
+            this.buildMetaDataParts = buildMetaDataParts;
+            this.preReleaseNumbers = numericValues(preReleaseParts);
+        }
+
+        String suffix() {
+            String s = this.suffix;
+            if (s == null) {
+                final StringBuilder b = new StringBuilder(
+                        joinedLength(this.preReleaseParts)
+                                + joinedLength(this.buildMetaDataParts));
+                if (this.preReleaseParts.length > 0) {
+                    appendJoined(b.append('-'), this.preReleaseParts);
+                }
+                if (this.buildMetaDataParts.length > 0) {
+                    appendJoined(b.append('+'), this.buildMetaDataParts);
+                }
+                s = b.toString();
+                this.suffix = s;
+            }
+            return s;
+        }
+    }
+
+    /**
+     * Stable merge sort of a permutation of indexes. Used for sorting column oriented
+     * data without moving it more than once.
+     */
+    private static abstract class IndexSort {
+
+        private static final int INSERTION_SORT_THRESHOLD = 7;
+
+        abstract int compare(int index1, int index2);
+
+        /**
+         * Returns the indexes [0, size) in the order of their elements.
+         */
+        final int[] sort(int size) {
+            final int[] order = new int[size];
+            for (int i = 0; i < size; ++i) {
+                order[i] = i;
+            }
+            mergeSort(order.clone(), order, 0, size);
+            return order;
+        }
+
+        /**
+         * Sorts dst[from, to) which initially has the same content as src, like the
+         * legacy merge sort of {@link Arrays}.
+         */
+        private void mergeSort(int[] src, int[] dst, int from, int to) {
+            if (to - from < INSERTION_SORT_THRESHOLD) {
+                for (int i = from + 1; i < to; ++i) {
+                    for (int j = i; j > from && compare(dst[j - 1], dst[j]) > 0; --j) {
+                        final int swap = dst[j];
+                        dst[j] = dst[j - 1];
+                        dst[j - 1] = swap;
+                    }
+                }
+                return;
+            }
+
+            final int mid = (from + to) >>> 1;
+            mergeSort(dst, src, from, mid);
+            mergeSort(dst, src, mid, to);
+
+            if (compare(src[mid - 1], src[mid]) <= 0) {
+                System.arraycopy(src, from, dst, from, to - from);
+                return;
+            }
+            for (int i = from, left = from, right = mid; i < to; ++i) {
+                if (right >= to || left < mid && compare(src[left], src[right]) <= 0) {
+                    dst[i] = src[left++];
+                } else {
+                    dst[i] = src[right++];
+                }
+            }
+        }
+    }
+
+    /**
+     * A unit of work of {@link Version#runParallel(Executor, int, ChunkTask)}.
+     */
+    private static interface ChunkTask {
+
+        void run(int chunk);
+    }
+
+    /**
+     * Holder of the executor used by {@link Version#parallelSort(Version[])} and
+     * {@link Version#parallelParse(String[])}, which is created when the holder class is
+     * first initialized. It runs at most one daemon thread per available processor.
+     * Threads terminate after being idle for a while, so an application which only
+     * sorts once does not keep them around.
+     */
+    private static final class DefaultExecutor {
+
+        static final Executor INSTANCE = create();
+
+        private static Executor create() {
+            final int threads = Runtime.getRuntime().availableProcessors();
+            final AtomicInteger count = new AtomicInteger();
+            final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads,
+                    PARALLEL_KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<Runnable>(), new ThreadFactory() {
+
+                        @Override
+                        public Thread newThread(Runnable r) {
+                            final Thread thread = new Thread(r,
+                                    "semantic-version-worker-" + count.incrementAndGet());
+                            thread.setDaemon(true);
+                            return thread;
+                        }
+                    });
+            executor.allowCoreThreadTimeOut(true);
+            return executor;
+        }
+
+        private DefaultExecutor() {
+            // hidden
+        }
+    }
+
+    /**
+     * Reads the encoding written by {@link Version#encodeSortable(byte[], int)}.
+     */
+    private static final class SortableDecoder {
+
+        private final byte[] bytes;
+        private final int end;
+        private final CharSequence ascii;
+        private int pos;
+
+        private SortableDecoder(byte[] bytes, int off, int end) {
+            this.bytes = bytes;
+            this.end = end;
+            this.ascii = new AsciiSequence(bytes, 0, bytes.length);
+            this.pos = off;
+        }
+
+        private Version decode() {
+            final int major = readInt();
+            final int minor = readInt();
+            final int patch = readInt();
+            require(major >= 0 && minor >= 0 && patch >= 0, MALFORMED);
+            final String[] preRelease = readSection(false);
+            final String[] buildMetaData = readSection(true);
+            require(this.pos == this.end, MALFORMED);
+            return new Version(major, minor, patch, preRelease, buildMetaData);
+        }
+
+        private int readByte() {
+            require(this.pos < this.end, MALFORMED);
+            return this.bytes[this.pos++] & 0xFF;
+        }
+
+        private int readInt() {
+            return readByte() << 24 | readByte() << 16 | readByte() << 8 | readByte();
+        }
+
+        private int readLength() {
+            final int length = readByte();
+            if (length < SORTABLE_LONG_LENGTH) {
+                return length;
+            }
+            final int longLength = readInt();
+            require(longLength >= SORTABLE_LONG_LENGTH, MALFORMED);
+            return longLength;
+        }
+
+        private String[] readSection(boolean leadingZeroes) {
+            final int marker = readByte();
+            if (marker == SORTABLE_ABSENT) {
+                return EMPTY_ARRAY;
+            }
+            require(marker == SORTABLE_PRESENT, MALFORMED);
+
+            final List<String> parts = new ArrayList<String>();
+            final IdentifierPool pool = identifierPool;
+            for (int tag = readByte(); tag != SORTABLE_END; tag = readByte()) {
+                if (tag == SORTABLE_NUMERIC) {
+                    parts.add(readNumeric(pool));
+                } else {
+                    require(tag == SORTABLE_ALPHANUMERIC, MALFORMED);
+                    parts.add(readAlphanumeric(pool));
+                }
+            }
+            require(!parts.isEmpty(), MALFORMED);
+
+            if (leadingZeroes) {
+                for (int i = 0; i < parts.size(); ++i) {
+                    final String part = parts.get(i);
+                    if (isDigits(part, 0, part.length())) {
+                        parts.set(i, withLeadingZeroes(pool, part, readLength()));
+                    }
+                }
+            }
+            return parts.toArray(new String[parts.size()]);
+        }
+
+        private String readNumeric(IdentifierPool pool) {
+            final int digits = readLength();
+            final int start = this.pos;
+            require(digits > 0 && digits <= this.end - start, MALFORMED);
+            this.pos += digits;
+            require(isDigits(this.ascii, start, this.pos), MALFORMED);
+            require(digits == 1 || this.bytes[start] != '0', MALFORMED);
+            return pool.identifier(this.ascii, start, this.pos);
+        }
+
+        private String withLeadingZeroes(IdentifierPool pool, String digits, int zeroes) {
+            if (zeroes == 0) {
+                return digits;
+            }
+            require(zeroes <= Integer.MAX_VALUE - digits.length(), MALFORMED);
+            final StringBuilder b = new StringBuilder(zeroes + digits.length());
+            for (int i = 0; i < zeroes; ++i) {
+                b.append('0');
+            }
+            b.append(digits);
+            return pool.identifier(b, 0, b.length());
+        }
+
+        private String readAlphanumeric(IdentifierPool pool) {
+            final int start = this.pos;
+            boolean numeric = true;
+            for (int c = readByte(); c != SORTABLE_END; c = readByte()) {
+                if (c < '0' || c > '9') {
+                    require(c == '-' || c >= 'a' && c <= 'z' || c >= 'A' && c <= 'Z',
+                            MALFORMED);
+                    numeric = false;
+                }
+            }
+            // numeric identifiers must have been encoded as such
+            require(!numeric, MALFORMED);
+            return pool.identifier(this.ascii, start, this.pos - 1);
+        }
+    }
+
+    /**
+     * Read-only view of a region of a byte array holding ASCII encoded chars.
+     */
+    private static final class AsciiSequence implements CharSequence {
+
+        private final byte[] bytes;
+        private final int offset;
+        private final int length;
+
+        private AsciiSequence(byte[] bytes, int offset, int length) {
+            this.bytes = bytes;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (this.bytes[this.offset + index] & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            return new String(this.bytes, this.offset + start, end - start, LATIN_1);
+        }
+
+        @Override
+        public String toString() {
+            return new String(this.bytes, this.offset, this.length, LATIN_1);
+        }
+    }
+
+    /**
+     * Read-only view of a region of a (possibly direct) byte buffer holding ASCII encoded
+     * chars. Only uses absolute get operations so the buffer's state is never modified.
+     */
+    private static final class AsciiBufferSequence implements CharSequence {
+
+        private final ByteBuffer buffer;
+        private final int offset;
+        private final int length;
+
+        private AsciiBufferSequence(ByteBuffer buffer, int offset, int length) {
+            this.buffer = buffer;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        @Override
+        public int length() {
+            return this.length;
+        }
+
+        @Override
+        public char charAt(int index) {
+            return (char) (this.buffer.get(this.offset + index) & 0xFF);
+        }
+
+        @Override
+        public CharSequence subSequence(int start, int end) {
+            final char[] chars = new char[end - start];
+            for (int i = 0; i < chars.length; ++i) {
+                chars[i] = charAt(start + i);
+            }
+            return new String(chars);
+        }
+
+        @Override
+        public String toString() {
+            return subSequence(0, this.length).toString();
         }
-        return this;
     }
 }
@@ -0,0 +1,206 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Test;
+
+import de.skuzzle.semantic.Version.VersionFormatException;
+
+public class CompactFormTest {
+
+    private static final String[] VERSIONS = {
+            "0.0.0",
+            "1.2.3",
+            "127.128.16384",
+            "2147483647.2147483647.2147483647",
+            "1.0.0-0",
+            "1.0.0-alpha.1.x-y-z.0a",
+            "1.0.0-4611686018427387903.4611686018427387904",
+            "1.0.0-18446744073709551616",
+            "1.0.0+001.0.1.build",
+            "1.0.0-rc.1+00.9223372036854775807",
+            "1.0.0-a.b.c.d.e.f.g.h.i.j.k.l.m.n.o.p.q"
+    };
+
+    private static byte[] write(String version) throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        Version.parseVersion(version).writeTo(new DataOutputStream(bout));
+        return bout.toByteArray();
+    }
+
+    private static Version read(byte[] bytes, boolean trusted) throws Exception {
+        return Version.readFrom(new DataInputStream(new ByteArrayInputStream(bytes)),
+                trusted);
+    }
+
+    @Test
+    public void testRoundTripDataStream() throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        final DataOutputStream out = new DataOutputStream(bout);
+        for (final String s : VERSIONS) {
+            Version.parseVersion(s).writeTo(out);
+        }
+
+        final DataInputStream in = new DataInputStream(
+                new ByteArrayInputStream(bout.toByteArray()));
+        for (final String s : VERSIONS) {
+            assertEquals(s, Version.readFrom(in).toString());
+        }
+        assertEquals(-1, in.read());
+    }
+
+    @Test
+    public void testRoundTripByteBuffer() throws Exception {
+        for (final ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(1024),
+                ByteBuffer.allocateDirect(1024) }) {
+            for (final String s : VERSIONS) {
+                final Version v = Version.parseVersion(s);
+                final int position = buffer.position();
+                assertEquals(v.compactLength(), v.writeTo(buffer));
+                assertEquals(position + v.compactLength(), buffer.position());
+            }
+
+            buffer.flip();
+            for (final String s : VERSIONS) {
+                assertEquals(s, Version.readFrom(buffer, true).toString());
+            }
+            assertEquals(0, buffer.remaining());
+        }
+    }
+
+    @Test
+    public void testSameFormForStreamsAndBuffers() throws Exception {
+        for (final String s : VERSIONS) {
+            final Version v = Version.parseVersion(s);
+            final byte[] streamed = write(s);
+            final ByteBuffer buffer = ByteBuffer.allocate(v.compactLength());
+            v.writeTo(buffer);
+            assertArrayEquals(streamed, buffer.array(), s);
+            assertEquals(v.compactLength(), streamed.length);
+        }
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+        assertArrayEquals(new byte[] { 1, 2, 3, 0, 0 }, write("1.2.3"));
+        assertArrayEquals(new byte[] { 1, 0, 0,
+                2, 4, 'r', 'c', 15,
+                1, 6, '0', '0', '1' },
+                write("1.0.0-rc.7+001"));
+        assertArrayEquals(new byte[] { (byte) 0x80, 1, 0, 0, 0, 0 }, write("128.0.0"));
+    }
+
+    @Test
+    public void testTrustedSkipsIdentifierValidation() throws Exception {
+        final byte[] bytes = { 1, 0, 0, 1, 6, 'a', '$', 'c', 0 };
+        assertThrows(VersionFormatException.class, () -> read(bytes, false));
+        assertThrows(VersionFormatException.class,
+                () -> Version.readFrom(ByteBuffer.wrap(bytes)));
+        assertEquals("1.0.0-a$c", read(bytes, true).toString());
+
+        final byte[] leadingZero = { 1, 0, 0, 1, 4, '0', '1', 0 };
+        assertThrows(VersionFormatException.class, () -> read(leadingZero, false));
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        final byte[] valid = write("1.0.0-rc.7+001");
+        for (int len = 0; len < valid.length; ++len) {
+            final byte[] truncated = Arrays.copyOf(valid, len);
+            assertThrows(EOFException.class, () -> read(truncated, false));
+            assertThrows(BufferUnderflowException.class,
+                    () -> Version.readFrom(ByteBuffer.wrap(truncated)));
+        }
+
+        final byte[][] malformed = {
+                // major exceeds int range
+                { (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x0F, 0, 0, 0, 0 },
+                // empty text identifier
+                { 1, 0, 0, 1, 0, 0 },
+                // varint longer than 64 bits
+                { -1, -1, -1, -1, -1, -1, -1, -1, -1, -1, 0, 0, 0, 0, 0 },
+                // negative major which would be truncated to 5
+                { (byte) 0x85, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                        (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01,
+                        2, 3, 0, 0 },
+                // overlong major whose excess bits would be dropped
+                { (byte) 0x85, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                        (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x02,
+                        2, 3, 0, 0 },
+        };
+        for (final byte[] bytes : malformed) {
+            assertThrows(IllegalArgumentException.class, () -> read(bytes, true),
+                    Arrays.toString(bytes));
+            assertThrows(IllegalArgumentException.class,
+                    () -> Version.readFrom(ByteBuffer.wrap(bytes), true),
+                    Arrays.toString(bytes));
+        }
+    }
+
+    private static byte[] replaceAt(byte[] bytes, int index, byte[] replacement) {
+        final byte[] result = Arrays.copyOf(bytes, bytes.length - 1 + replacement.length);
+        System.arraycopy(replacement, 0, result, index, replacement.length);
+        System.arraycopy(bytes, index + 1, result, index + replacement.length,
+                bytes.length - index - 1);
+        return result;
+    }
+
+    @Test
+    public void testMalformedVarints() throws Exception {
+        final byte[] negative = { (byte) 0x81, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 };
+        final byte[] overlong = Arrays.copyOf(negative, negative.length);
+        overlong[overlong.length - 1] = 0x02;
+        final byte[] truncated = Arrays.copyOf(negative, negative.length - 1);
+
+        // major, minor, patch, pre-release count, text and number header, build count
+        final byte[] valid = write("1.0.0-rc.7+001");
+        for (final int index : new int[] { 0, 1, 2, 3, 4, 7, 8 }) {
+            for (final byte[] varint : new byte[][] { negative, overlong }) {
+                final byte[] bytes = replaceAt(valid, index, varint);
+                assertThrows(IllegalArgumentException.class, () -> read(bytes, false),
+                        Arrays.toString(bytes));
+                assertThrows(IllegalArgumentException.class,
+                        () -> Version.readFrom(ByteBuffer.wrap(bytes)),
+                        Arrays.toString(bytes));
+            }
+
+            final byte[] bytes = Arrays.copyOf(valid, index + truncated.length);
+            System.arraycopy(truncated, 0, bytes, index, truncated.length);
+            assertThrows(EOFException.class, () -> read(bytes, false));
+            assertThrows(BufferUnderflowException.class,
+                    () -> Version.readFrom(ByteBuffer.wrap(bytes)));
+        }
+    }
+
+    @Test
+    public void testInsufficientSpace() throws Exception {
+        final Version v = Version.parseVersion("1.0.0-rc.1");
+        final ByteBuffer buffer = ByteBuffer.allocate(v.compactLength() - 1);
+        assertThrows(IllegalArgumentException.class, () -> v.writeTo(buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    public void testNullArguments() throws Exception {
+        final Version v = Version.create(1, 2, 3);
+        assertThrows(IllegalArgumentException.class,
+                () -> v.writeTo((java.io.DataOutput) null));
+        assertThrows(IllegalArgumentException.class, () -> v.writeTo((ByteBuffer) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.readFrom((java.io.DataInput) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.readFrom((ByteBuffer) null));
+    }
+}
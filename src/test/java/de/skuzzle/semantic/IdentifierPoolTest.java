@@ -0,0 +1,129 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import de.skuzzle.semantic.Version.IdentifierPool;
+
+public class IdentifierPoolTest {
+
+    private final IdentifierPool previous = Version.getIdentifierPool();
+
+    @AfterEach
+    public void restorePool() {
+        Version.setIdentifierPool(this.previous);
+    }
+
+    @Test
+    public void testSeededIdentifiersAreShared() throws Exception {
+        final IdentifierPool pool = Version.newIdentifierPool(16);
+        final String snapshot = pool.identifier("1.0.0-SNAPSHOT", 6, 14);
+        assertEquals("SNAPSHOT", snapshot);
+        assertSame(snapshot, pool.identifier(new StringBuilder("SNAPSHOT"), 0, 8));
+        assertSame(pool.identifier("rc.42", 3, 5), pool.identifier("42", 0, 2));
+    }
+
+    @Test
+    public void testLearnsNewIdentifiers() throws Exception {
+        final IdentifierPool pool = Version.newIdentifierPool(256);
+        final String first = pool.identifier("-milestone", 1, 10);
+        assertEquals("milestone", first);
+        assertSame(first, pool.identifier("milestone", 0, 9));
+    }
+
+    @Test
+    public void testBounded() throws Exception {
+        final IdentifierPool pool = Version.newIdentifierPool(1);
+        final String first = pool.identifier("foo", 0, 3);
+        assertSame(first, pool.identifier("foo", 0, 3));
+
+        final String second = pool.identifier(new StringBuilder("bar"), 0, 3);
+        assertEquals("bar", second);
+        assertNotSame(second, pool.identifier(new StringBuilder("bar"), 0, 3));
+        // seeded identifiers are still available
+        assertSame(pool.identifier("beta", 0, 4), pool.identifier("beta", 0, 4));
+    }
+
+    @Test
+    public void testBoundedUnderContention() throws Exception {
+        final IdentifierPool pool = Version.newIdentifierPool(10);
+        final int threads = 8;
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; ++t) {
+            final int offset = t * 1000;
+            final Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (final InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 1000; ++i) {
+                    final StringBuilder id = new StringBuilder("id").append(offset + i);
+                    pool.identifier(id, 0, id.length());
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (final Thread worker : workers) {
+            worker.join();
+        }
+
+        int pooled = 0;
+        for (int i = 0; i < threads * 1000; ++i) {
+            final StringBuilder id = new StringBuilder("id").append(i);
+            if (pool.identifier(id, 0, id.length()) == pool.identifier(id, 0, id.length())) {
+                ++pooled;
+            }
+        }
+        assertTrue(pooled <= 10, "pooled: " + pooled);
+    }
+
+    @Test
+    public void testDefaultPoolOnlySharesSeeds() throws Exception {
+        final IdentifierPool pool = Version.getIdentifierPool();
+        assertSame(pool.identifier("SNAPSHOT", 0, 8), pool.identifier("-SNAPSHOT", 1, 9));
+        assertSame(pool.identifier("42", 0, 2), pool.identifier("rc.42", 3, 5));
+        final StringBuilder hash = new StringBuilder("5114f85");
+        assertNotSame(pool.identifier(hash, 0, 7), pool.identifier(hash, 0, 7));
+    }
+
+    @Test
+    public void testParsedVersionsShareIdentifiers() throws Exception {
+        Version.setIdentifierPool(Version.newIdentifierPool(64));
+        final Version v1 = Version.parseVersion("1.0.0-SNAPSHOT+build.17");
+        final Version v2 = Version.parseVersion("2.3.4-SNAPSHOT+build.17");
+        assertSame(v1.getPreReleaseParts()[0], v2.getPreReleaseParts()[0]);
+        assertSame(v1.getBuildMetaDataParts()[0], v2.getBuildMetaDataParts()[0]);
+        assertSame(v1.getBuildMetaDataParts()[1], v2.getBuildMetaDataParts()[1]);
+    }
+
+    @Test
+    public void testNoPooling() throws Exception {
+        Version.setIdentifierPool(IdentifierPool.NONE);
+        final Version v1 = Version.parseVersion("1.0.0-SNAPSHOT");
+        final Version v2 = Version.parseVersion("1.0.0-SNAPSHOT");
+        assertEquals(v1, v2);
+        assertNotSame(v1.getPreReleaseParts()[0], v2.getPreReleaseParts()[0]);
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Version.newIdentifierPool(0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.newIdentifierPool(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> Version.setIdentifierPool(null));
+    }
+}
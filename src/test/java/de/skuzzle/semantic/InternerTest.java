@@ -0,0 +1,141 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import de.skuzzle.semantic.Version.Interner;
+import de.skuzzle.semantic.Version.Interner.EvictionPolicy;
+import de.skuzzle.semantic.Version.VersionFormatException;
+
+public class InternerTest {
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testReturnsCanonicalInstance(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(10, policy);
+        final Version v1 = interner.intern("1.2.3-SNAPSHOT");
+        final Version v2 = interner.intern(new String("1.2.3-SNAPSHOT"));
+
+        assertSame(v1, v2);
+        assertEquals(Version.parseVersion("1.2.3-SNAPSHOT"), v1);
+        assertEquals(1, interner.getHitCount());
+        assertEquals(1, interner.getMissCount());
+        assertEquals(0.5, interner.getHitRate());
+        assertEquals(1, interner.size());
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testKeyedByExactInput(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(10, policy);
+        final Version v1 = interner.intern("1.2.3+a");
+        final Version v2 = interner.intern("1.2.3+b");
+
+        assertNotSame(v1, v2);
+        assertEquals("1.2.3+a", v1.toString());
+        assertEquals("1.2.3+b", v2.toString());
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testInvalidInputIsNotCached(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(10, policy);
+        assertThrows(VersionFormatException.class, () -> interner.intern("1.2"));
+        assertThrows(VersionFormatException.class, () -> interner.intern("1.2"));
+        assertEquals(0, interner.size());
+        assertEquals(2, interner.getMissCount());
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testBounded(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(3, policy);
+        for (int i = 0; i < 100; ++i) {
+            interner.intern("1.0." + i);
+            assertEquals(Math.min(i + 1, 3), interner.size());
+        }
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testClear(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(3, policy);
+        final Version v1 = interner.intern("1.0.0");
+        interner.clear();
+        assertEquals(0, interner.size());
+        assertNotSame(v1, interner.intern("1.0.0"));
+    }
+
+    @Test
+    public void testLruEvictsLeastRecentlyUsed() throws Exception {
+        final Interner interner = Interner.create(2, EvictionPolicy.LRU);
+        final Version v1 = interner.intern("1.0.0");
+        interner.intern("2.0.0");
+        interner.intern("1.0.0");
+        interner.intern("3.0.0");
+
+        assertSame(v1, interner.intern("1.0.0"));
+        assertEquals(2, interner.getHitCount());
+        interner.intern("2.0.0");
+        assertEquals(4, interner.getMissCount());
+    }
+
+    @Test
+    public void testClockGivesReferencedEntriesASecondChance() throws Exception {
+        final Interner interner = Interner.create(2, EvictionPolicy.CLOCK);
+        final Version v1 = interner.intern("1.0.0");
+        interner.intern("2.0.0");
+        interner.intern("1.0.0");
+        interner.intern("3.0.0");
+
+        assertSame(v1, interner.intern("1.0.0"));
+        interner.intern("2.0.0");
+        assertEquals(4, interner.getMissCount());
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Interner.create(0));
+        assertThrows(IllegalArgumentException.class, () -> Interner.create(1, null));
+        assertThrows(IllegalArgumentException.class, () -> Interner.create(1).intern(null));
+    }
+
+    @ParameterizedTest
+    @EnumSource(EvictionPolicy.class)
+    public void testConcurrentAccess(EvictionPolicy policy) throws Exception {
+        final Interner interner = Interner.create(16, policy);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final List<Callable<Void>> tasks = new ArrayList<>();
+            for (int t = 0; t < 8; ++t) {
+                tasks.add(() -> {
+                    for (int i = 0; i < 10000; ++i) {
+                        final String input = "1.0." + (i % 32);
+                        assertEquals(input, interner.intern(input).toString());
+                    }
+                    return null;
+                });
+            }
+            for (final Future<Void> future : executor.invokeAll(tasks)) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(80000, interner.getHitCount() + interner.getMissCount());
+        assertEquals(16, interner.size());
+    }
+}
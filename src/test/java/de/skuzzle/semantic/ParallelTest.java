@@ -0,0 +1,198 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.skuzzle.semantic.Version.VersionFormatException;
+
+public class ParallelTest {
+
+    private static final String[] PRE_RELEASES = { "", "", "alpha", "alpha.1", "beta.11",
+            "rc.1", "1", "0a" };
+
+    private ExecutorService pool;
+
+    @BeforeEach
+    public void setUp() {
+        this.pool = Executors.newFixedThreadPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        this.pool.shutdownNow();
+    }
+
+    private static String[] randomStrings(int n, long seed) {
+        final Random random = new Random(seed);
+        final String[] result = new String[n];
+        for (int i = 0; i < n; ++i) {
+            final String preRelease = PRE_RELEASES[random.nextInt(PRE_RELEASES.length)];
+            result[i] = random.nextInt(10) + "." + random.nextInt(10) + "."
+                    + random.nextInt(10)
+                    + (preRelease.isEmpty() ? "" : "-" + preRelease)
+                    + "+b" + i;
+        }
+        return result;
+    }
+
+    private static Version[] randomVersions(int n, long seed) {
+        final String[] strings = randomStrings(n, seed);
+        final Version[] result = new Version[n];
+        Version.parseAll(strings, result);
+        return result;
+    }
+
+    private static void assertSortedLikeArraysSort(Version[] input, Version[] actual) {
+        final Version[] expected = input.clone();
+        Arrays.sort(expected);
+        for (int i = 0; i < expected.length; ++i) {
+            assertSame(expected[i], actual[i], "at index " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 1000, 100000, 300001 })
+    public void testParallelSort(int n) throws Exception {
+        final Version[] input = randomVersions(n, n);
+
+        final Version[] actual = input.clone();
+        Version.parallelSort(actual);
+        assertSortedLikeArraysSort(input, actual);
+
+        final Version[] withExecutor = input.clone();
+        Version.parallelSort(withExecutor, this.pool);
+        assertSortedLikeArraysSort(input, withExecutor);
+
+        // independent of the cores of the machine running the test
+        for (int parallelism = 2; parallelism <= 5; ++parallelism) {
+            final Version[] chunked = input.clone();
+            Version.parallelSort(chunked, this.pool, parallelism);
+            assertSortedLikeArraysSort(input, chunked);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 1000, 100000 })
+    public void testParallelParse(int n) throws Exception {
+        final String[] input = randomStrings(n, n);
+        final Version[] expected = new Version[n];
+        Version.parseAll(input, expected);
+
+        assertEquals(Arrays.asList(expected), Arrays.asList(Version.parallelParse(input)));
+        assertEquals(Arrays.asList(expected),
+                Arrays.asList(Version.parallelParse(input, this.pool)));
+        assertEquals(Arrays.asList(expected),
+                Arrays.asList(Version.parallelParse(input, this.pool, 7)));
+    }
+
+    @Test
+    public void testRejectingExecutorRunsInCallingThread() throws Exception {
+        final AtomicInteger rejected = new AtomicInteger();
+        final Version[] input = randomVersions(200000, 1);
+        final Version[] actual = input.clone();
+        Version.parallelSort(actual, command -> {
+            rejected.incrementAndGet();
+            throw new RejectedExecutionException();
+        }, 4);
+        assertSortedLikeArraysSort(input, actual);
+        // submitting stops at the first rejection: once for the 4 chunks and once for
+        // the 2 merges of the first round. The last round is run by the caller anyway
+        assertEquals(2, rejected.get());
+    }
+
+    @Test
+    public void testDoesNotWaitForTasksThatNeverStart() throws Exception {
+        // accepts all tasks but never runs them, like a saturated or blocked pool
+        final AtomicInteger accepted = new AtomicInteger();
+        final Version[] input = randomVersions(200000, 5);
+        final Version[] actual = input.clone();
+        Version.parallelSort(actual, command -> accepted.incrementAndGet(), 4);
+        assertSortedLikeArraysSort(input, actual);
+        assertEquals(3 + 1, accepted.get());
+
+        final String[] strings = randomStrings(50000, 6);
+        final Version[] expected = new Version[strings.length];
+        Version.parseAll(strings, expected);
+        assertEquals(Arrays.asList(expected), Arrays.asList(
+                Version.parallelParse(strings, command -> { }, 8)));
+    }
+
+    @Test
+    public void testNestedInSaturatedPool() throws Exception {
+        // every worker of the pool calls parallelSort on the very same pool
+        final ExecutorService shared = Executors.newFixedThreadPool(2);
+        try {
+            final List<Future<Version[]>> results = new ArrayList<>();
+            for (int i = 0; i < 2; ++i) {
+                final Version[] input = randomVersions(100000, 10 + i);
+                results.add(shared.submit(() -> {
+                    Version.parallelSort(input, shared, 4);
+                    return input;
+                }));
+            }
+            for (final Future<Version[]> result : results) {
+                final Version[] sorted = result.get(1, TimeUnit.MINUTES);
+                for (int i = 1; i < sorted.length; ++i) {
+                    assertTrue(sorted[i - 1].compareTo(sorted[i]) <= 0);
+                }
+            }
+        } finally {
+            shared.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelParseReportsLowestInvalidIndex() throws Exception {
+        final String[] input = randomStrings(100000, 2);
+        input[70000] = "1.0";
+        input[30000] = "01.0.0";
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parallelParse(input, this.pool, 4));
+        assertEquals("01.0.0", e.getInput());
+    }
+
+    @Test
+    public void testParallelParseNullElement() throws Exception {
+        final String[] input = randomStrings(100000, 3);
+        input[99999] = null;
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parallelParse(input, this.pool, 4));
+    }
+
+    @Test
+    public void testParallelSortNullElement() throws Exception {
+        final Version[] input = randomVersions(100000, 4);
+        input[12345] = null;
+        assertThrows(NullPointerException.class,
+                () -> Version.parallelSort(input, this.pool, 4));
+    }
+
+    @Test
+    public void testNullArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Version.parallelSort(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parallelSort(new Version[0], null));
+        assertThrows(IllegalArgumentException.class, () -> Version.parallelParse(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parallelParse(new String[0], null));
+    }
+}
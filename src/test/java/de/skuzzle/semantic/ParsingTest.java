@@ -1,15 +1,22 @@
 package de.skuzzle.semantic;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.DynamicTest.dynamicTest;
 
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 
 import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestFactory;
 
 import de.skuzzle.semantic.Version.VersionFormatException;
@@ -107,6 +114,48 @@ public class ParsingTest {
         return results;
     }
 
+    @Test
+    public void testExceptionRecordsUnexpectedChar() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2.3-foo$"));
+        assertEquals("1.2.3-foo$", e.getInput());
+        assertEquals(9, e.getPosition());
+        assertEquals('$', e.getOffendingChar());
+    }
+
+    @Test
+    public void testExceptionRecordsIncompletePart() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2."));
+        assertEquals("1.2.", e.getInput());
+        assertEquals(4, e.getPosition());
+        assertEquals(-1, e.getOffendingChar());
+    }
+
+    @Test
+    public void testExceptionRecordsIllegalLeadingZero() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2.3-pre.01"));
+        assertEquals(10, e.getPosition());
+        assertEquals('0', e.getOffendingChar());
+    }
+
+    @Test
+    public void testExceptionPositionIsRelativeToRegion() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("xx01.2.3", 2, 8));
+        assertEquals("01.2.3", e.getInput());
+        assertEquals(0, e.getPosition());
+    }
+
+    @Test
+    public void testExceptionWithCustomMessageHasNoInput() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2.3-SNAPSHOT", false));
+        assertNull(e.getInput());
+        assertEquals(-1, e.getPosition());
+    }
+
     @TestFactory
     public Collection<DynamicTest> testWithPreReleaseException() {
         final List<DynamicTest> results = new ArrayList<>(
@@ -159,6 +208,83 @@ public class ParsingTest {
         return results;
     }
 
+    @TestFactory
+    public Collection<DynamicTest> testTryParseIllegalVersions() {
+        final List<DynamicTest> results = new ArrayList<>();
+
+        for (final String[] input : ILLEGAL_VERSIONS) {
+            results.add(dynamicTest("Try parse " + input[0],
+                    () -> assertNull(Version.tryParse(input[0]))));
+        }
+        return results;
+    }
+
+    @TestFactory
+    public Collection<DynamicTest> testTryParseLegalVersions() {
+        final List<DynamicTest> results = new ArrayList<>();
+
+        for (final String input : LEGAL_VERSIONS) {
+            results.add(dynamicTest("Try parse " + input, () -> {
+                final Version parsed = Version.tryParse(input);
+                assertEquals(Version.parseVersion(input), parsed);
+                assertArrayEquals(Version.parseVersion(input).getBuildMetaDataParts(),
+                        parsed.getBuildMetaDataParts());
+                assertEquals(input, parsed.toString());
+            }));
+        }
+        return results;
+    }
+
+    @Test
+    public void testTryParseNullAndEmpty() throws Exception {
+        assertNull(Version.tryParse(null));
+        assertNull(Version.tryParse(""));
+    }
+
+    @Test
+    public void testTryParseOverflow() throws Exception {
+        assertNull(Version.tryParse("1.2.3000000000"));
+        assertFalse(Version.isValidVersion("3000000000.2.3"));
+        // wraps around to a positive int
+        assertNull(Version.tryParse("1.2.4294967299"));
+        assertFalse(Version.isValidVersion("4294967299.2.3-rc.1"));
+        assertEquals(Integer.MAX_VALUE, Version.tryParse("1.2.2147483647").getPatch());
+    }
+
+    @Test
+    public void testParsePlainVersion() throws Exception {
+        final Version v = Version.parseVersion("10.0.312");
+        assertEquals(10, v.getMajor());
+        assertEquals(0, v.getMinor());
+        assertEquals(312, v.getPatch());
+        assertArrayEquals(new String[0], v.getPreReleaseParts());
+        assertArrayEquals(new String[0], v.getBuildMetaDataParts());
+    }
+
+    @Test
+    public void testParsePlainVersionRegion() throws Exception {
+        assertEquals(Version.create(1, 2, 3), Version.parseVersion("v1.2.3.4", 1, 6));
+        assertEquals(Version.create(1, 2, 3, "4"), Version.parseVersion("v1.2.3-4", 1, 8));
+    }
+
+    @Test
+    public void testParsePlainVersionOverflow() throws Exception {
+        assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2.3000000000"));
+    }
+
+    @Test
+    public void testParseOverflowWrappingToPositive() throws Exception {
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.2.4294967299"));
+        assertEquals("Number too large in patch part of 1.2.4294967299", e.getMessage());
+        assertEquals(13, e.getPosition());
+        assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("4294967299.2.3-rc.1"));
+        assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion("1.21474836470.3+build"));
+    }
+
     @TestFactory
     public Collection<DynamicTest> testParseLegalVersions() {
         final List<DynamicTest> results = new ArrayList<>();
@@ -173,4 +299,180 @@ public class ParsingTest {
         return results;
     }
 
+    @TestFactory
+    public Collection<DynamicTest> testParseLegalVersionsFromRegion() {
+        final List<DynamicTest> results = new ArrayList<>();
+
+        for (final String input : LEGAL_VERSIONS) {
+            final DynamicTest test = dynamicTest("Parse region " + input, () -> {
+                final StringBuilder b = new StringBuilder("foo ").append(input).append(" bar");
+                final Version parsed = Version.parseVersion(b, 4, 4 + input.length());
+                assertEquals(Version.parseVersion(input), parsed);
+                assertEquals(input, parsed.toString());
+            });
+            results.add(test);
+        }
+        return results;
+    }
+
+    @TestFactory
+    public Collection<DynamicTest> testParseRegionWithException() {
+        final List<DynamicTest> results = new ArrayList<>(
+                ILLEGAL_VERSIONS.length);
+
+        for (final String[] input : ILLEGAL_VERSIONS) {
+            results.add(dynamicTest("Parse region " + input[0],
+                    () -> {
+                        final CharBuffer buffer = CharBuffer.wrap("[" + input[0] + "]");
+                        final VersionFormatException e = assertThrows(
+                                VersionFormatException.class,
+                                () -> Version.parseVersion(buffer, 1, buffer.length() - 1));
+
+                        final String expectedMessage = String.format(input[1], input[0]);
+                        assertEquals(expectedMessage, e.getMessage());
+                    }));
+        }
+
+        return results;
+    }
+
+    @TestFactory
+    public Collection<DynamicTest> testParseLegalVersionsFromBytes() {
+        final List<DynamicTest> results = new ArrayList<>();
+
+        for (final String input : LEGAL_VERSIONS) {
+            final DynamicTest test = dynamicTest("Parse bytes " + input, () -> {
+                final byte[] bytes = ("xx" + input + "x").getBytes(StandardCharsets.US_ASCII);
+                final Version expected = Version.parseVersion(input);
+
+                final Version fromArray = Version.parseVersion(bytes, 2, input.length());
+                assertEquals(input, fromArray.toString());
+                assertEquals(expected, fromArray);
+
+                final ByteBuffer heap = ByteBuffer.wrap(bytes).slice();
+                assertEquals(input, Version.parseVersion(heap, 2, input.length()).toString());
+                assertEquals(0, heap.position());
+
+                final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+                direct.put(bytes);
+                assertEquals(input, Version.parseVersion(direct, 2, input.length()).toString());
+                assertEquals(bytes.length, direct.position());
+            });
+            results.add(test);
+        }
+        return results;
+    }
+
+    @TestFactory
+    public Collection<DynamicTest> testParseBytesWithException() {
+        final List<DynamicTest> results = new ArrayList<>(
+                ILLEGAL_VERSIONS.length);
+
+        for (final String[] input : ILLEGAL_VERSIONS) {
+            results.add(dynamicTest("Parse bytes " + input[0],
+                    () -> {
+                        final byte[] bytes = input[0].getBytes(StandardCharsets.US_ASCII);
+                        final ByteBuffer direct = ByteBuffer.allocateDirect(bytes.length);
+                        direct.put(bytes);
+                        final String expectedMessage = String.format(input[1], input[0]);
+
+                        final VersionFormatException e1 = assertThrows(
+                                VersionFormatException.class,
+                                () -> Version.parseVersion(bytes, 0, bytes.length));
+                        assertEquals(expectedMessage, e1.getMessage());
+
+                        final VersionFormatException e2 = assertThrows(
+                                VersionFormatException.class,
+                                () -> Version.parseVersion(direct, 0, bytes.length));
+                        assertEquals(expectedMessage, e2.getMessage());
+                    }));
+        }
+
+        return results;
+    }
+
+    @Test
+    public void testParseBytesNonAscii() throws Exception {
+        final byte[] bytes = "1.2.3-\u00e4".getBytes(StandardCharsets.UTF_8);
+        assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion(bytes, 0, bytes.length));
+    }
+
+    @Test
+    public void testParseBytesIllegalBounds() throws Exception {
+        final byte[] bytes = "1.2.3".getBytes(StandardCharsets.US_ASCII);
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion((byte[]) null, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion(bytes, 1, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion(bytes, 0, -1));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion((ByteBuffer) null, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion(ByteBuffer.wrap(bytes).limit(4), 0, 5));
+    }
+
+    @Test
+    public void testParseAllArray() throws Exception {
+        final Version[] target = new Version[LEGAL_VERSIONS.length + 1];
+        Version.parseAll(LEGAL_VERSIONS, target);
+        for (int i = 0; i < LEGAL_VERSIONS.length; ++i) {
+            assertEquals(LEGAL_VERSIONS[i], target[i].toString());
+            assertArrayEquals(Version.parseVersion(LEGAL_VERSIONS[i]).getPreReleaseParts(),
+                    target[i].getPreReleaseParts());
+        }
+        assertNull(target[LEGAL_VERSIONS.length]);
+    }
+
+    @Test
+    public void testParseAllIterable() throws Exception {
+        final List<CharSequence> input = new ArrayList<>();
+        for (final String version : LEGAL_VERSIONS) {
+            input.add(new StringBuilder(version));
+        }
+        final List<Version> result = Version.parseAll(input);
+        assertEquals(LEGAL_VERSIONS.length, result.size());
+        for (int i = 0; i < LEGAL_VERSIONS.length; ++i) {
+            assertEquals(LEGAL_VERSIONS[i], result.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testParseAllIllegalVersion() throws Exception {
+        final String[] input = { "1.0.0-rc.1", "1.0.0-01", "2.0.0" };
+        final Version[] target = new Version[input.length];
+        final VersionFormatException e = assertThrows(VersionFormatException.class,
+                () -> Version.parseAll(input, target));
+        assertEquals("1.0.0-01", e.getInput());
+        assertEquals(Version.parseVersion("1.0.0-rc.1"), target[0]);
+    }
+
+    @Test
+    public void testParseAllIllegalArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseAll(new String[2], new Version[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseAll(new String[] { null }, new Version[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseAll(null, new Version[1]));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseAll(Arrays.asList("1.0.0", null)));
+    }
+
+    @Test
+    public void testParseRegionNull() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion((CharSequence) null, 0, 0));
+    }
+
+    @Test
+    public void testParseRegionIllegalBounds() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion("1.2.3", -1, 5));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion("1.2.3", 0, 6));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.parseVersion("1.2.3", 3, 2));
+    }
 }
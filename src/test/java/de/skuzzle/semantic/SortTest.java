@@ -0,0 +1,90 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+public class SortTest {
+
+    private static final String[] PRE_RELEASES = { "alpha", "alpha.1", "beta.2", "beta.11",
+            "rc.1", "1", "0a" };
+
+    private static Version[] randomVersions(int n, long seed, int maxPart) {
+        final Random random = new Random(seed);
+        final Version[] result = new Version[n];
+        for (int i = 0; i < n; ++i) {
+            final int major = random.nextInt(maxPart);
+            final int minor = random.nextInt(4);
+            final int patch = random.nextInt(4);
+            final String preRelease = random.nextBoolean()
+                    ? PRE_RELEASES[random.nextInt(PRE_RELEASES.length)]
+                    : "";
+            // build meta data makes equal versions distinguishable by identity
+            result[i] = Version.create(major, minor, patch, preRelease, "b" + i);
+        }
+        return result;
+    }
+
+    private static void assertSortedLikeArraysSort(Version[] input) {
+        final Version[] expected = input.clone();
+        Arrays.sort(expected);
+        final Version[] actual = input.clone();
+        Version.sort(actual);
+        for (int i = 0; i < expected.length; ++i) {
+            assertSame(expected[i], actual[i], "at index " + i);
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 2, 63, 64, 65, 1000, 20000 })
+    public void testSortArray(int n) throws Exception {
+        assertSortedLikeArraysSort(randomVersions(n, n, 3));
+        assertSortedLikeArraysSort(randomVersions(n, n, 1 << 20));
+    }
+
+    @Test
+    public void testSortUnpackedFallback() throws Exception {
+        final Version[] versions = randomVersions(1000, 1, 5);
+        versions[500] = Version.create(Integer.MAX_VALUE, 0, 0);
+        assertSortedLikeArraysSort(versions);
+    }
+
+    @Test
+    public void testSortList() throws Exception {
+        final Version[] versions = randomVersions(500, 2, 10);
+        final Version[] expected = versions.clone();
+        Arrays.sort(expected);
+
+        final List<Version> arrayList = new ArrayList<>(Arrays.asList(versions));
+        final List<Version> linkedList = new LinkedList<>(Arrays.asList(versions));
+        Version.sort(arrayList);
+        Version.sort(linkedList);
+        for (int i = 0; i < expected.length; ++i) {
+            assertSame(expected[i], arrayList.get(i));
+            assertSame(expected[i], linkedList.get(i));
+        }
+    }
+
+    @Test
+    public void testNullElements() throws Exception {
+        final Version[] versions = randomVersions(100, 3, 10);
+        versions[42] = null;
+        assertThrows(NullPointerException.class, () -> Version.sort(versions));
+    }
+
+    @Test
+    public void testNullArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> Version.sort((Version[]) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.sort((List<Version>) null));
+    }
+}
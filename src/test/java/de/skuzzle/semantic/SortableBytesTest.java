@@ -0,0 +1,188 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class SortableBytesTest {
+
+    private static final String LONG_ID = repeat('a', 300);
+    private static final String LONG_NUMBER = "1" + repeat('0', 299);
+
+    private static final String[] VERSIONS = {
+            "0.0.1",
+            "0.0.255",
+            "0.0.256",
+            "0.1.0",
+            "1.0.0-0",
+            "1.0.0-1",
+            "1.0.0-9",
+            "1.0.0-10",
+            "1.0.0-" + LONG_NUMBER,
+            "1.0.0-" + LONG_NUMBER + "1",
+            "1.0.0--",
+            "1.0.0-0a",
+            "1.0.0-RC.1",
+            "1.0.0-" + LONG_ID,
+            "1.0.0-alpha",
+            "1.0.0-alpha.1",
+            "1.0.0-alpha.1.0",
+            "1.0.0-alpha.beta",
+            "1.0.0-alpha-1",
+            "1.0.0-alphabet",
+            "1.0.0-beta",
+            "1.0.0-beta.2",
+            "1.0.0-beta.11",
+            "1.0.0-rc.1+build.1",
+            "1.0.0-rc.1+build.2",
+            "1.0.0-rc.1",
+            "1.0.0+0",
+            "1.0.0+00",
+            "1.0.0+1",
+            "1.0.0+01",
+            "1.0.0+001",
+            "1.0.0+" + LONG_ID,
+            "1.0.0+build",
+            "1.0.0+build.1",
+            "1.0.0+build.01",
+            "1.0.0+build.1.0",
+            "1.0.0",
+            "1.9.0",
+            "1.10.0",
+            "2.0.0",
+            "2147483647.2147483647.2147483647",
+    };
+
+    private static String repeat(char c, int times) {
+        final char[] chars = new char[times];
+        Arrays.fill(chars, c);
+        return new String(chars);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        for (final String s : VERSIONS) {
+            final Version v = Version.parseVersion(s);
+            final Version decoded = Version.fromSortableBytes(v.toSortableBytes());
+            assertEquals(s, decoded.toString());
+            assertEquals(0, v.compareToWithBuildMetaData(decoded));
+        }
+    }
+
+    @Test
+    public void testRoundTripRegion() throws Exception {
+        final byte[] bytes = Version.parseVersion("1.2.3-alpha+build").toSortableBytes();
+        final byte[] padded = new byte[bytes.length + 4];
+        System.arraycopy(bytes, 0, padded, 2, bytes.length);
+        assertEquals("1.2.3-alpha+build",
+                Version.fromSortableBytes(padded, 2, bytes.length).toString());
+    }
+
+    @Test
+    public void testOrderMatchesNaturalOrder() throws Exception {
+        final List<Version> versions = new ArrayList<>();
+        for (final String s : VERSIONS) {
+            versions.add(Version.parseVersion(s));
+        }
+
+        for (final Version v1 : versions) {
+            for (final Version v2 : versions) {
+                final int bytes = Integer.signum(
+                        Arrays.compareUnsigned(v1.toSortableBytes(), v2.toSortableBytes()));
+                final int natural = Integer.signum(v1.compareTo(v2));
+                final int withBuildMetaData = Integer.signum(
+                        v1.compareToWithBuildMetaData(v2));
+
+                if (natural != 0) {
+                    assertEquals(natural, bytes, v1 + " <> " + v2);
+                } else if (withBuildMetaData != 0) {
+                    assertEquals(withBuildMetaData, bytes, v1 + " <> " + v2);
+                } else if (!v1.toString().equals(v2.toString())) {
+                    // only differ in leading zeroes of build meta data
+                    assertNotEquals(0, bytes, v1 + " <> " + v2);
+                } else {
+                    assertEquals(0, bytes);
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testListingOrder() throws Exception {
+        // the literal order of VERSIONS is ascending
+        for (int i = 1; i < VERSIONS.length; ++i) {
+            final byte[] lower = Version.parseVersion(VERSIONS[i - 1]).toSortableBytes();
+            final byte[] higher = Version.parseVersion(VERSIONS[i]).toSortableBytes();
+            assertEquals(-1, Integer.signum(Arrays.compareUnsigned(lower, higher)),
+                    VERSIONS[i - 1] + " < " + VERSIONS[i]);
+        }
+    }
+
+    @Test
+    public void testEncoding() throws Exception {
+        assertArrayEquals(new byte[] { 0, 0, 0, 1, 0, 0, 0, 2, 0, 0, 0, 3, 2, 2 },
+                Version.create(1, 2, 3).toSortableBytes());
+        assertArrayEquals(new byte[] { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0,
+                1, 2, 'r', 'c', 0, 1, 1, '7', 0,
+                1, 1, 1, '1', 0, 2 },
+                Version.parseVersion("1.0.0-rc.7+001").toSortableBytes());
+    }
+
+    @Test
+    public void testMalformed() throws Exception {
+        final byte[] valid = Version.parseVersion("1.0.0-rc.7+001").toSortableBytes();
+        for (int len = 0; len < valid.length; ++len) {
+            final byte[] truncated = Arrays.copyOf(valid, len);
+            assertThrows(IllegalArgumentException.class,
+                    () -> Version.fromSortableBytes(truncated));
+        }
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.fromSortableBytes(Arrays.copyOf(valid, valid.length + 1)));
+
+        final byte[][] malformed = {
+                // negative major
+                { -1, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 2, 2 },
+                // unknown section marker
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 3, 2 },
+                // empty section
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 0, 2 },
+                // unknown tag
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 3, 'a', 0, 0, 2 },
+                // numeric with leading zero
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 2, '0', '1', 0, 2 },
+                // numeric containing letters
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, 1, 'a', 0, 2 },
+                // alphanumeric consisting of digits only
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2, '1', 0, 0, 2 },
+                // illegal char
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2, '$', 0, 0, 2 },
+                // empty alphanumeric
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 2, 0, 0, 2 },
+                // non canonical long length
+                { 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0, 1, 1, -1, 0, 0, 0, 1, '1', 0, 2 },
+        };
+        for (final byte[] bytes : malformed) {
+            assertThrows(IllegalArgumentException.class,
+                    () -> Version.fromSortableBytes(bytes), Arrays.toString(bytes));
+        }
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.fromSortableBytes(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.fromSortableBytes(null, 0, 0));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.fromSortableBytes(new byte[14], 1, 14));
+        assertThrows(IllegalArgumentException.class,
+                () -> Version.fromSortableBytes(new byte[14], -1, 2));
+    }
+}
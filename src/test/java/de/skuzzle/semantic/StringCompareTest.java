@@ -0,0 +1,124 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.skuzzle.semantic.Version.VersionFormatException;
+
+public class StringCompareTest {
+
+    private static final String[] VERSIONS = {
+            "0.0.1",
+            "0.1.0",
+            "1.0.0-alpha",
+            "1.0.0-alpha.1",
+            "1.0.0-alpha.beta",
+            "1.0.0-beta",
+            "1.0.0-beta.2",
+            "1.0.0-beta.11",
+            "1.0.0-rc.1",
+            "1.0.0-rc.1+build.1",
+            "1.0.0-rc.1.0",
+            "1.0.0-rc-1",
+            "1.0.0-RC.1",
+            "1.0.0-0",
+            "1.0.0-0a",
+            "1.0.0-10",
+            "1.0.0-9",
+            "1.0.0-a9",
+            "1.0.0-a10",
+            "1.0.0",
+            "1.0.0+build.1",
+            "1.0.0+0.build.1-rc.10000aaa-kk-0.1",
+            "1.0.1",
+            "1.2.0",
+            "1.10.0",
+            "9.0.0",
+            "10.0.0",
+            "123.456.789-18446744073709551616",
+            "123.456.789-18446744073709551617",
+            "2147483647.0.0",
+    };
+
+    @Test
+    public void testConsistentWithCompare() throws Exception {
+        for (final String s1 : VERSIONS) {
+            for (final String s2 : VERSIONS) {
+                final int expected = Integer.signum(Version.compare(
+                        Version.parseVersion(s1), Version.parseVersion(s2)));
+                assertEquals(expected, Integer.signum(Version.compare(s1, s2)),
+                        s1 + " <> " + s2);
+            }
+        }
+    }
+
+    @Test
+    public void testComparatorSortsLikeVersions() throws Exception {
+        final List<String> strings = new ArrayList<>(Arrays.asList(VERSIONS));
+        Collections.shuffle(strings);
+        Collections.sort(strings, Version.NATURAL_STRING_ORDER);
+
+        final List<Version> versions = new ArrayList<>();
+        for (final String s : VERSIONS) {
+            versions.add(Version.parseVersion(s));
+        }
+        Collections.sort(versions);
+
+        for (int i = 0; i < versions.size(); ++i) {
+            assertEquals(0, versions.get(i).compareTo(Version.parseVersion(strings.get(i))));
+        }
+    }
+
+    @Test
+    public void testCharSequenceInput() throws Exception {
+        assertTrue(Version.compare(new StringBuilder("1.0.0-beta"), "1.0.0-alpha") > 0);
+    }
+
+    @Test
+    public void testStopsAtFirstDifference() throws Exception {
+        assertTrue(Version.compare("1.2.3", "2.0.0-$") < 0);
+        assertTrue(Version.compare("1.0.0-a.b", "1.0.0-b..") < 0);
+        assertEquals(0, Version.compare("1.0.0+a", "1.0.0+$"));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = { "", "1", "1.2", "1.2.", "01.2.3", "1.02.3", "1.2.03", "a.2.3",
+            "1.2.3x", "1.2.3-", "1.2.3-a..b", "1.2.3-01", "1.2.3-a.01", "1.2.3-a$",
+            "1.2.3-+b" })
+    public void testInvalidInput(String input) throws Exception {
+        final VersionFormatException expected = assertThrows(VersionFormatException.class,
+                () -> Version.parseVersion(input));
+        final VersionFormatException e1 = assertThrows(VersionFormatException.class,
+                () -> Version.compare(input, input));
+        final VersionFormatException e2 = assertThrows(VersionFormatException.class,
+                () -> Version.compare("1.2.3-a.b.c", input));
+
+        assertEquals(expected.getMessage(), e1.getMessage());
+        assertEquals(expected.getPosition(), e1.getPosition());
+        assertEquals(expected.getMessage(), e2.getMessage());
+    }
+
+    @Test
+    public void testOverflow() throws Exception {
+        assertThrows(VersionFormatException.class,
+                () -> Version.compare("1.2.3000000000", "1.2.3"));
+        assertThrows(VersionFormatException.class,
+                () -> Version.compare("1.2.3", "1.2.4294967299"));
+    }
+
+    @Test
+    public void testNull() throws Exception {
+        assertThrows(NullPointerException.class, () -> Version.compare(null, "1.2.3"));
+        assertThrows(NullPointerException.class, () -> Version.compare("1.2.3", null));
+    }
+}
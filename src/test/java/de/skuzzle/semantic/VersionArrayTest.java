@@ -0,0 +1,157 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.skuzzle.semantic.Version.VersionArray;
+
+public class VersionArrayTest {
+
+    private static final String[] IDENTIFIERS = { "alpha", "alpha.1", "beta.2", "beta.11",
+            "rc.1", "1", "0a", "18446744073709551616", "18446744073709551617" };
+    private static final String[] BUILD_META_DATA = { "", "", "build.1", "001", "01",
+            "1", "sha.5114f85" };
+
+    private static Version[] randomVersions(int n, long seed) {
+        final Random random = new Random(seed);
+        final Version[] result = new Version[n];
+        for (int i = 0; i < n; ++i) {
+            final int major = random.nextInt(20) == 0
+                    ? Integer.MAX_VALUE - random.nextInt(2)
+                    : random.nextInt(3);
+            final String preRelease = random.nextBoolean()
+                    ? IDENTIFIERS[random.nextInt(IDENTIFIERS.length)]
+                    : "";
+            result[i] = Version.create(major, random.nextInt(3), random.nextInt(3),
+                    preRelease, BUILD_META_DATA[random.nextInt(BUILD_META_DATA.length)]);
+        }
+        return result;
+    }
+
+    @Test
+    public void testGet() throws Exception {
+        final Version[] versions = randomVersions(500, 1);
+        final VersionArray array = VersionArray.of(versions);
+        assertEquals(versions.length, array.size());
+        for (int i = 0; i < versions.length; ++i) {
+            final Version v = array.get(i);
+            assertEquals(versions[i].toString(), v.toString());
+            assertEquals(versions[i].getMajor(), array.getMajor(i));
+            assertEquals(versions[i].getMinor(), array.getMinor(i));
+            assertEquals(versions[i].getPatch(), array.getPatch(i));
+            assertEquals(versions[i].isStable(), array.isStable(i));
+            assertEquals(versions[i].hasBuildMetaData(), array.hasBuildMetaData(i));
+        }
+    }
+
+    @Test
+    public void testIdentifiersAreShared() throws Exception {
+        final VersionArray array = VersionArray.of(Version.parseVersion("1.0.0-rc.1"),
+                Version.parseVersion("2.0.0-rc.1"));
+        assertSame(array.get(0).getPreReleaseParts()[0],
+                array.get(1).getPreReleaseParts()[0]);
+    }
+
+    @Test
+    public void testCompareLikeVersions() throws Exception {
+        final Version[] versions = randomVersions(200, 2);
+        final VersionArray array = VersionArray.of(versions);
+        for (int i = 0; i < versions.length; ++i) {
+            for (int j = 0; j < versions.length; ++j) {
+                assertEquals(Integer.signum(Version.compare(versions[i], versions[j])),
+                        Integer.signum(array.compare(i, j)),
+                        versions[i] + " <> " + versions[j]);
+                assertEquals(
+                        Integer.signum(Version.compareWithBuildMetaData(versions[i],
+                                versions[j])),
+                        Integer.signum(array.compareWithBuildMetaData(i, j)),
+                        versions[i] + " <> " + versions[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testSortLikeArraysSort() throws Exception {
+        for (final int n : new int[] { 0, 1, 5, 100, 10000 }) {
+            final Version[] versions = randomVersions(n, n);
+            final VersionArray array = VersionArray.of(versions);
+            array.sort();
+
+            // the sort is stable, so even the build meta data is in the same order
+            Arrays.sort(versions);
+            for (int i = 0; i < n; ++i) {
+                assertEquals(versions[i].toString(), array.get(i).toString());
+            }
+        }
+    }
+
+    @Test
+    public void testBuilder() throws Exception {
+        final Version[] versions = randomVersions(100, 3);
+        final VersionArray.Builder builder = VersionArray.builder();
+        for (final Version v : versions) {
+            builder.add(v);
+        }
+        final VersionArray first = builder.build();
+        builder.add(Version.parseVersion("1.2.3-x+y"));
+        final VersionArray second = builder.build();
+
+        assertEquals(100, first.size());
+        assertEquals(101, second.size());
+        assertEquals("1.2.3-x+y", second.get(100).toString());
+        for (int i = 0; i < versions.length; ++i) {
+            assertEquals(versions[i].toString(), first.get(i).toString());
+            assertEquals(versions[i].toString(), second.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testOfCollection() throws Exception {
+        final List<Version> versions = Arrays.asList(randomVersions(50, 4));
+        final VersionArray array = VersionArray.of(versions);
+        for (int i = 0; i < versions.size(); ++i) {
+            assertEquals(versions.get(i).toString(), array.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final VersionArray array = VersionArray.of(Collections.<Version> emptyList());
+        assertEquals(0, array.size());
+        array.sort();
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(0));
+    }
+
+    @Test
+    public void testIndexOutOfBounds() throws Exception {
+        final VersionArray array = VersionArray.of(Version.create(1, 2, 3));
+        assertTrue(array.isStable(0));
+        assertFalse(array.hasBuildMetaData(0));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.get(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.compare(0, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> array.getMajor(1));
+    }
+
+    @Test
+    public void testNullArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionArray.of((Version[]) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionArray.of((List<Version>) null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionArray.of(Version.create(1, 2, 3), null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionArray.builder().add(null));
+    }
+}
@@ -0,0 +1,178 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import de.skuzzle.semantic.Version.VersionCatalog;
+
+public class VersionCatalogTest {
+
+    private static final VersionCatalog CATALOG = catalog(
+            "2.1.0", "1.0.0", "2.0.0-rc.1", "1.1.0", "2.0.0", "3.0.0-alpha",
+            "1.1.0+build", "0.9.0-beta", "2.1.1-SNAPSHOT", "2147483647.0.0-rc.1",
+            "2147483647.0.0");
+
+    private static VersionCatalog catalog(String... versions) {
+        final List<Version> result = new ArrayList<>();
+        for (final String s : versions) {
+            result.add(Version.parseVersion(s));
+        }
+        return VersionCatalog.of(result);
+    }
+
+    private static Version v(String s) {
+        return Version.parseVersion(s);
+    }
+
+    private static String str(Version version) {
+        return version == null ? null : version.toString();
+    }
+
+    @Test
+    public void testSorted() throws Exception {
+        final List<String> actual = new ArrayList<>();
+        for (final Version version : CATALOG) {
+            actual.add(version.toString());
+        }
+        assertEquals(Arrays.asList("0.9.0-beta", "1.0.0", "1.1.0", "1.1.0+build",
+                "2.0.0-rc.1", "2.0.0", "2.1.0", "2.1.1-SNAPSHOT", "3.0.0-alpha",
+                "2147483647.0.0-rc.1", "2147483647.0.0"), actual);
+        assertEquals(11, CATALOG.size());
+        assertEquals("1.0.0", CATALOG.get(1).toString());
+    }
+
+    @Test
+    public void testLatest() throws Exception {
+        assertEquals("2147483647.0.0", str(CATALOG.latest()));
+        assertEquals("2147483647.0.0", str(CATALOG.latestStable()));
+        assertEquals("2.1.1-SNAPSHOT", str(CATALOG.latest(2)));
+        assertEquals("2.1.0", str(CATALOG.stable().latest(2)));
+        assertEquals("2.1.1-SNAPSHOT", str(CATALOG.preReleases().latest(2)));
+        assertEquals("3.0.0-alpha", str(CATALOG.latest(3)));
+        assertNull(CATALOG.stable().latest(3));
+        assertEquals("0.9.0-beta", str(CATALOG.latest(0)));
+        assertNull(CATALOG.latest(4));
+        assertEquals("2147483647.0.0", str(CATALOG.latest(Integer.MAX_VALUE)));
+        assertEquals("1.0.0", str(catalog("3.0.0-alpha", "1.0.0").latestStable()));
+        assertNull(catalog("3.0.0-alpha", "1.0.0-rc.1").latestStable());
+    }
+
+    @Test
+    public void testNavigation() throws Exception {
+        assertEquals("2.0.0-rc.1", str(CATALOG.ceiling(v("1.2.0"))));
+        assertEquals("2.0.0", str(CATALOG.stable().ceiling(v("1.2.0"))));
+        assertEquals("2.0.0", str(CATALOG.ceiling(v("2.0.0"))));
+        assertEquals("2.1.0", str(CATALOG.higher(v("2.0.0"))));
+        assertEquals("2.0.0", str(CATALOG.floor(v("2.0.0"))));
+        assertEquals("2.0.0-rc.1", str(CATALOG.lower(v("2.0.0"))));
+        assertEquals("1.1.0+build", str(CATALOG.stable().lower(v("2.0.0"))));
+        assertEquals("1.1.0+build", str(CATALOG.floor(v("1.1.0"))));
+        assertEquals("1.1.0", str(CATALOG.ceiling(v("1.1.0+other"))));
+
+        assertNull(CATALOG.lower(v("0.9.0-beta")));
+        assertNull(CATALOG.floor(v("0.1.0")));
+        assertNull(CATALOG.higher(v("2147483647.0.0")));
+        assertEquals("2147483647.0.0", str(CATALOG.ceiling(v("2147483647.0.0-rc.2"))));
+    }
+
+    @Test
+    public void testConsistentWithLinearScan() throws Exception {
+        final Random random = new Random(0);
+        final List<Version> versions = new ArrayList<>();
+        for (int i = 0; i < 500; ++i) {
+            final Version core = Version.create(random.nextInt(4), random.nextInt(4),
+                    random.nextInt(2));
+            versions.add(random.nextBoolean() ? core : core.withPreRelease(
+                    random.nextBoolean() ? "rc." + random.nextInt(3) : "beta"));
+        }
+        final VersionCatalog catalog = VersionCatalog.of(versions);
+        final List<Version> sorted = new ArrayList<>(versions);
+        Collections.sort(sorted);
+
+        for (final Version probe : versions) {
+            Version ceiling = null;
+            Version higher = null;
+            Version floor = null;
+            Version lower = null;
+            for (final Version version : sorted) {
+                final int c = version.compareTo(probe);
+                if (c >= 0 && ceiling == null) {
+                    ceiling = version;
+                }
+                if (c > 0 && higher == null) {
+                    higher = version;
+                }
+                if (c <= 0) {
+                    floor = version;
+                }
+                if (c < 0) {
+                    lower = version;
+                }
+            }
+            assertSame(ceiling, catalog.ceiling(probe), probe.toString());
+            assertSame(higher, catalog.higher(probe), probe.toString());
+            assertSame(floor, catalog.floor(probe), probe.toString());
+            assertSame(lower, catalog.lower(probe), probe.toString());
+        }
+    }
+
+    @Test
+    public void testViews() throws Exception {
+        final VersionCatalog stable = CATALOG.stable();
+        final VersionCatalog preReleases = CATALOG.preReleases();
+        assertEquals(6, stable.size());
+        assertEquals(5, preReleases.size());
+        assertSame(stable, CATALOG.stable());
+        assertSame(stable, stable.stable());
+        assertTrue(stable.preReleases().isEmpty());
+        assertTrue(preReleases.stable().isEmpty());
+        for (final Version version : preReleases) {
+            assertTrue(version.isPreRelease());
+        }
+    }
+
+    @Test
+    public void testEmpty() throws Exception {
+        final VersionCatalog empty = VersionCatalog.of(Collections.<Version> emptyList());
+        assertTrue(empty.isEmpty());
+        assertFalse(empty.iterator().hasNext());
+        assertNull(empty.latest());
+        assertNull(empty.latestStable());
+        assertNull(empty.latest(1));
+        assertNull(empty.ceiling(v("1.0.0")));
+        assertNull(empty.lower(v("1.0.0")));
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        assertThrows(IllegalArgumentException.class, () -> VersionCatalog.of(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionCatalog.of(Arrays.asList(v("1.0.0"), null)));
+        assertThrows(IllegalArgumentException.class, () -> CATALOG.ceiling(null));
+        assertThrows(IllegalArgumentException.class, () -> CATALOG.higher(null));
+        assertThrows(IllegalArgumentException.class, () -> CATALOG.floor(null));
+        assertThrows(IllegalArgumentException.class, () -> CATALOG.lower(null));
+        assertThrows(IndexOutOfBoundsException.class, () -> CATALOG.get(11));
+
+        final Iterator<Version> iterator = CATALOG.stable().stable().iterator();
+        assertThrows(UnsupportedOperationException.class, iterator::remove);
+        while (iterator.hasNext()) {
+            iterator.next();
+        }
+        assertThrows(NoSuchElementException.class, iterator::next);
+    }
+}
@@ -0,0 +1,370 @@
+package de.skuzzle.semantic;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import de.skuzzle.semantic.Version.VersionStore;
+
+public class VersionStoreTest {
+
+    private static final String[] VERSIONS = {
+            "0.0.1",
+            "1.0.0-alpha",
+            "1.0.0-alpha.1",
+            "1.0.0-alpha.beta",
+            "1.0.0-beta.11",
+            "1.0.0-beta.2",
+            "1.0.0-rc.1+build.1",
+            "1.0.0-rc.1+build.01",
+            "1.0.0-rc.1",
+            "1.0.0-0a",
+            "1.0.0-18446744073709551617",
+            "1.0.0",
+            "1.0.0+001",
+            "1.0.0+1",
+            "1.0.0+build",
+            "1.0.0+build.1.0",
+            "1.10.0",
+            "2147483647.2147483647.2147483647",
+    };
+
+    private static List<Version> versions(String... strings) {
+        final List<Version> result = new ArrayList<>();
+        for (final String s : strings) {
+            result.add(Version.parseVersion(s));
+        }
+        return result;
+    }
+
+    private static List<Version> randomVersions(int n, long seed) {
+        final Random random = new Random(seed);
+        final List<Version> result = new ArrayList<>();
+        for (int i = 0; i < n; ++i) {
+            final Version version = Version.parseVersion(
+                    VERSIONS[random.nextInt(VERSIONS.length)]);
+            result.add(version.withMajor(random.nextInt(3)).withBuildMetaData("b" + i));
+        }
+        return result;
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 64, 256, 1 << 30 })
+    public void testGet(int pageSize) throws Exception {
+        final List<Version> versions = randomVersions(500, pageSize);
+        final VersionStore.Builder builder = VersionStore.builder(pageSize);
+        for (final Version version : versions) {
+            builder.add(version);
+        }
+        final VersionStore store = builder.build();
+
+        assertEquals(versions.size(), store.size());
+        for (int i = 0; i < versions.size(); ++i) {
+            final Version expected = versions.get(i);
+            assertEquals(expected.toString(), store.get(i).toString());
+            assertEquals(expected.getMajor(), store.getMajor(i));
+            assertEquals(expected.getMinor(), store.getMinor(i));
+            assertEquals(expected.getPatch(), store.getPatch(i));
+            assertEquals(expected.isStable(), store.isStable(i));
+            assertEquals(expected.hasBuildMetaData(), store.hasBuildMetaData(i));
+        }
+    }
+
+    private static Version withBuildMetaDataOfLength(int sortableLength) {
+        final Version base = Version.parseVersion("1.0.0+a");
+        final char[] chars = new char[1 + sortableLength - base.toSortableBytes().length];
+        Arrays.fill(chars, 'a');
+        final Version version = base.withBuildMetaData(new String(chars));
+        assertEquals(sortableLength, version.toSortableBytes().length);
+        return version;
+    }
+
+    @Test
+    public void testEntryDoesNotFitIntoGrownPage() throws Exception {
+        // the first page grows to 4090 bytes, the next entry only fits into a new page
+        final List<Version> versions = Arrays.asList(withBuildMetaDataOfLength(4090),
+                withBuildMetaDataOfLength(1000), withBuildMetaDataOfLength(5000),
+                Version.create(1, 2, 3), withBuildMetaDataOfLength(4999));
+        final VersionStore.Builder builder = VersionStore.builder(5000);
+        for (final Version version : versions) {
+            builder.add(version);
+        }
+        final VersionStore store = builder.build();
+
+        assertEquals(versions.size(), store.size());
+        for (int i = 0; i < versions.size(); ++i) {
+            assertEquals(versions.get(i).toString(), store.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testCompare() throws Exception {
+        final List<Version> versions = versions(VERSIONS);
+        final VersionStore store = VersionStore.of(versions);
+        for (int i = 0; i < versions.size(); ++i) {
+            for (int j = 0; j < versions.size(); ++j) {
+                final Version v1 = versions.get(i);
+                final Version v2 = versions.get(j);
+                final String message = v1 + " <> " + v2;
+                assertEquals(Integer.signum(Version.compare(v1, v2)),
+                        Integer.signum(store.compare(i, j)), message);
+                assertEquals(Integer.signum(Version.compare(v1, v2)),
+                        Integer.signum(store.compare(i, v2)), message);
+                assertEquals(Integer.signum(Version.compareWithBuildMetaData(v1, v2)),
+                        Integer.signum(store.compareWithBuildMetaData(i, j)), message);
+            }
+        }
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 7, 1000 })
+    public void testSort(int n) throws Exception {
+        final List<Version> versions = randomVersions(n, n);
+        final VersionStore store = VersionStore.builder(64).build();
+        assertEquals(0, store.size());
+
+        final VersionStore.Builder builder = VersionStore.builder(64);
+        for (final Version version : versions) {
+            builder.add(version);
+        }
+        final VersionStore sorted = builder.build();
+        sorted.sort();
+
+        final List<Version> expected = new ArrayList<>(versions);
+        Collections.sort(expected);
+        for (int i = 0; i < n; ++i) {
+            // build meta data is unique, so this also verifies stability
+            assertEquals(expected.get(i).toString(), sorted.get(i).toString());
+        }
+    }
+
+    @Test
+    public void testBinarySearch() throws Exception {
+        final List<Version> versions = versions(VERSIONS);
+        Collections.shuffle(versions, new Random(0));
+        final VersionStore store = VersionStore.of(versions);
+        store.sort();
+
+        for (final String s : VERSIONS) {
+            final int index = store.binarySearch(Version.parseVersion(s));
+            assertTrue(index >= 0, s);
+            assertEquals(0, Version.compare(Version.parseVersion(s), store.get(index)));
+        }
+        assertEquals(-1, store.binarySearch(Version.create(0, 0, 0)));
+        final Version missing = Version.parseVersion("1.0.0-aaa");
+        final List<Version> sorted = versions(VERSIONS);
+        Collections.sort(sorted);
+        assertEquals(Collections.binarySearch(sorted, missing), store.binarySearch(missing));
+
+        final VersionStore small = VersionStore.of(versions("1.0.0-rc.1", "1.0.0"));
+        assertEquals(-3, small.binarySearch(Version.create(1, 0, 1)));
+    }
+
+    @Test
+    public void testBounds() throws Exception {
+        final List<Version> versions = versions("1.0.0", "2.0.0-rc.1", "2.0.0",
+                "2.0.0+build", "2.1.0", "3.0.0-alpha");
+        final VersionStore store = VersionStore.of(versions);
+        assertFalse(store.isSorted());
+        store.sort();
+        assertTrue(store.isSorted());
+
+        assertEquals(0, store.lowerBound(Version.create(0, 1, 0)));
+        assertEquals(2, store.lowerBound(Version.create(2, 0, 0)));
+        assertEquals(4, store.upperBound(Version.create(2, 0, 0)));
+        assertEquals(5, store.lowerBound(Version.create(3, 0, 0).withPreRelease("0")));
+        assertEquals(6, store.lowerBound(Version.create(3, 0, 0)));
+        assertEquals(6, store.upperBound(Version.create(3, 0, 0)));
+
+        final Iterator<Version> range = store.iterator(
+                store.lowerBound(Version.create(2, 0, 0)),
+                store.lowerBound(Version.create(3, 0, 0).withPreRelease("0")));
+        assertEquals("2.0.0", range.next().toString());
+        assertEquals("2.0.0+build", range.next().toString());
+        assertEquals("2.1.0", range.next().toString());
+        assertFalse(range.hasNext());
+        assertThrows(NoSuchElementException.class, range::next);
+        assertThrows(UnsupportedOperationException.class, range::remove);
+        assertThrows(IndexOutOfBoundsException.class, () -> store.iterator(2, 1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.iterator(0, 7));
+    }
+
+    @Test
+    public void testIterator() throws Exception {
+        final List<Version> versions = versions(VERSIONS);
+        final List<String> actual = new ArrayList<>();
+        for (final Version version : VersionStore.of(versions)) {
+            actual.add(version.toString());
+        }
+        assertEquals(Arrays.asList(VERSIONS), actual);
+    }
+
+    @ParameterizedTest
+    @ValueSource(ints = { 0, 1, 1000 })
+    public void testWriteAndMap(int n, @TempDir File dir) throws Exception {
+        final List<Version> versions = randomVersions(n, n);
+        final VersionStore.Builder builder = VersionStore.builder(256);
+        for (final Version version : versions) {
+            builder.add(version);
+        }
+        final VersionStore store = builder.build();
+        store.sort();
+        final File file = new File(dir, "versions.catalog");
+        store.writeTo(file);
+
+        final VersionStore mapped = VersionStore.map(file);
+        assertTrue(mapped.isSorted());
+        assertEquals(n, mapped.size());
+        for (int i = 0; i < n; ++i) {
+            assertEquals(store.get(i).toString(), mapped.get(i).toString());
+            assertEquals(0, mapped.compareWithBuildMetaData(i, i));
+        }
+        for (final Version version : versions) {
+            assertEquals(0, mapped.compare(mapped.binarySearch(version), version));
+        }
+
+        // sorting a mapped store must not touch the file
+        final long length = file.length();
+        mapped.sort();
+        assertEquals(length, file.length());
+        assertEquals(n, VersionStore.map(file).size());
+    }
+
+    @Test
+    public void testMapUnsorted(@TempDir File dir) throws Exception {
+        final File file = new File(dir, "versions.catalog");
+        VersionStore.of(versions(VERSIONS)).writeTo(file);
+        final VersionStore mapped = VersionStore.map(file);
+        assertFalse(mapped.isSorted());
+        assertEquals(VERSIONS[VERSIONS.length - 1],
+                mapped.get(VERSIONS.length - 1).toString());
+    }
+
+    @Test
+    public void testMapMalformed(@TempDir File dir) throws Exception {
+        final File file = new File(dir, "versions.catalog");
+        VersionStore.of(versions(VERSIONS)).writeTo(file);
+        final long length = file.length();
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length - 1);
+        }
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length + 1);
+        }
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(length);
+            raf.seek(4);
+            raf.writeInt(2);
+        }
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.seek(0);
+            raf.writeInt(0);
+        }
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(3);
+        }
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        assertThrows(IOException.class,
+                () -> VersionStore.map(new File(dir, "missing.catalog")));
+        assertThrows(IllegalArgumentException.class, () -> VersionStore.map(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionStore.of(versions(VERSIONS)).writeTo(null));
+    }
+
+    private static void writeHeader(File file, int size, int pageSize, int dataPages,
+            int indexPages) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(0);
+            raf.writeInt(0x53454d56);
+            raf.writeInt(1);
+            raf.writeInt(0);
+            raf.writeInt(size);
+            raf.writeInt(pageSize);
+            raf.writeInt(dataPages);
+            raf.writeInt(indexPages);
+            raf.write(new byte[64]);
+        }
+    }
+
+    @Test
+    public void testMapMalformedHeader(@TempDir File dir) throws Exception {
+        final File file = new File(dir, "versions.catalog");
+        final int entriesPerPage = (1 << 30) / 20;
+        // the index page count computed in int arithmetic wraps to this value
+        final int wrapped = (Integer.MAX_VALUE + entriesPerPage - 1) / entriesPerPage;
+        writeHeader(file, Integer.MAX_VALUE, 1 << 30, 0, wrapped);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+
+        writeHeader(file, Integer.MAX_VALUE, 1 << 30, 0, 41);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        writeHeader(file, Integer.MAX_VALUE, 1 << 30, Integer.MAX_VALUE, 41);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        writeHeader(file, 1, Integer.MAX_VALUE, 0, 1);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        writeHeader(file, -1, 1 << 30, 0, 0);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        writeHeader(file, 0, 1 << 30, -1, 0);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+        writeHeader(file, 0, 1 << 30, 0, -1);
+        assertThrows(IOException.class, () -> VersionStore.map(file));
+    }
+
+    @Test
+    public void testBuilderReset() throws Exception {
+        final VersionStore.Builder builder = VersionStore.builder();
+        final VersionStore first = builder.add(Version.create(1, 0, 0)).build();
+        final VersionStore second = builder.add(Version.create(2, 0, 0)).build();
+        assertEquals(1, first.size());
+        assertEquals(1, second.size());
+        assertEquals(1, first.getMajor(0));
+        assertEquals(2, second.getMajor(0));
+    }
+
+    @Test
+    public void testIllegalArguments() throws Exception {
+        final VersionStore store = VersionStore.of(versions("1.0.0", "2.0.0"));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.get(2));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.getMajor(-1));
+        assertThrows(IndexOutOfBoundsException.class, () -> store.compare(0, 2));
+        assertThrows(IllegalArgumentException.class, () -> store.compare(0, null));
+        assertThrows(IllegalArgumentException.class, () -> store.binarySearch(null));
+        assertThrows(IllegalArgumentException.class, () -> store.lowerBound(null));
+        assertThrows(IllegalArgumentException.class, () -> store.upperBound(null));
+        assertThrows(IllegalArgumentException.class, () -> VersionStore.of(null));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionStore.of(Arrays.asList(Version.create(1, 0, 0), null)));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionStore.builder((1 << 30) + 1));
+        assertThrows(IllegalArgumentException.class,
+                () -> VersionStore.builder(32).add(Version.parseVersion(
+                        "1.0.0-abcdefghijklmnopqrstuvwxyz")));
+        assertSame(VersionStore.class, store.getClass());
+    }
+}
@@ -14,8 +14,17 @@ import java.io.ByteArrayOutputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InvalidObjectException;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
+import java.io.ObjectStreamClass;
+import java.io.ObjectStreamField;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
@@ -649,6 +658,36 @@ public class VersionTest {
         assertTrue(v2.compareTo(v1) > 0);
     }
 
+    @Test
+    public void testPrecedenceNumericPreReleaseExceedingInt() {
+        final Version v1 = Version.parseVersion("1.0.0-2");
+        final Version v2 = Version.parseVersion("1.0.0-4294967297");
+        assertTrue(v1.compareTo(v2) < 0);
+        assertTrue(v2.compareTo(v1) > 0);
+    }
+
+    @Test
+    public void testPrecedenceNumericPreReleaseExceedingLong() {
+        final Version v1 = Version.parseVersion("1.0.0-99999999999999999999");
+        final Version v2 = Version.parseVersion("1.0.0-100000000000000000000");
+        final Version v3 = Version.parseVersion("1.0.0-100000000000000000000");
+        final Version v4 = Version.parseVersion("1.0.0-alpha");
+        assertTrue(v1.compareTo(v2) < 0);
+        assertTrue(v2.compareTo(v1) > 0);
+        assertEquals(0, v2.compareTo(v3));
+        assertTrue(v2.compareTo(v4) < 0);
+    }
+
+    @Test
+    public void testBuildMDNumericPartsIgnoreLeadingZeroes() {
+        final Version v1 = Version.parseVersion("1.0.0+012");
+        final Version v2 = Version.parseVersion("1.0.0+12");
+        final Version v3 = Version.parseVersion("1.0.0+0000000000000000000000013");
+        assertEquals(0, v1.compareToWithBuildMetaData(v2));
+        assertTrue(v1.compareToWithBuildMetaData(v3) < 0);
+        assertTrue(v3.compareToWithBuildMetaData(v2) > 0);
+    }
+
     @Test
     public void testIsGreaterNull() throws Exception {
         assertThrows(IllegalArgumentException.class,
@@ -705,6 +744,43 @@ public class VersionTest {
         }
     }
 
+    @Test
+    public void testPrecedenceAroundPackedKeyLimits() {
+        // mixes versions whose core fits into the packed sort key with those that don't
+        final Version[] ascending = {
+                Version.create(0, 0, 1),
+                Version.create(0, 0, (1 << 21) - 1, "rc"),
+                Version.create(0, 0, (1 << 21) - 1),
+                Version.create(0, 0, 1 << 21, "rc"),
+                Version.create(0, 0, 1 << 21),
+                Version.create(0, (1 << 21) - 1, Integer.MAX_VALUE),
+                Version.create(0, 1 << 21, 0),
+                Version.create((1 << 20) - 1, (1 << 21) - 1, (1 << 21) - 1, "alpha"),
+                Version.create((1 << 20) - 1, (1 << 21) - 1, (1 << 21) - 1, "beta"),
+                Version.create((1 << 20) - 1, (1 << 21) - 1, (1 << 21) - 1),
+                Version.create(1 << 20, 0, 0, "alpha"),
+                Version.create(1 << 20, 0, 0, "beta"),
+                Version.create(1 << 20, 0, 0),
+                Version.create(Integer.MAX_VALUE, Integer.MAX_VALUE, Integer.MAX_VALUE),
+        };
+        for (int i = 0; i < ascending.length; ++i) {
+            for (int j = 0; j < ascending.length; ++j) {
+                final int c = Integer.signum(ascending[i].compareTo(ascending[j]));
+                assertEquals(Integer.signum(i - j), c, ascending[i] + " <> " + ascending[j]);
+            }
+        }
+    }
+
+    @Test
+    public void testCompareWithBuildMetaDataSameKey() {
+        final Version v1 = Version.create(1, 2, 3, "", "a");
+        final Version v2 = Version.create(1, 2, 3, "", "b");
+        assertEquals(0, v1.compareTo(v2));
+        assertTrue(v1.compareToWithBuildMetaData(v2) < 0);
+        assertTrue(Version.create(1, 2, 3, "rc", "b")
+                .compareToWithBuildMetaData(Version.create(1, 2, 3, "rc", "a")) > 0);
+    }
+
     @Test
     public void testBuildMetaDataEquality() {
         final Version v1 = Version.create(0, 0, 1, "", "some.build-meta.data");
@@ -834,6 +910,117 @@ public class VersionTest {
         }
     }
 
+    @Test
+    public void testToStringWithSharedIdentifiers() {
+        final Version v = Version.parseVersion("1.2.3-alpha.1+build.5");
+        assertEquals("1.2.3-alpha.1+build.5", v.toString());
+        assertEquals("1.2.3-alpha.1+build.5", v.toString());
+        // derived versions share the rendered identifiers but not the core
+        assertEquals("4.2.3-alpha.1+build.5", v.withMajor(4).toString());
+        assertEquals("1.5.3-alpha.1+build.5", v.withMinor(5).toString());
+        assertEquals("1.2.6-alpha.1+build.5", v.withPatch(6).toString());
+        assertEquals("1.2.3-beta+build.5", v.withPreRelease("beta").toString());
+        assertEquals("1.2.3+build.5", v.toStable().withBuildMetaData("build.5")
+                .toString());
+    }
+
+    @Test
+    public void testAppendToStringBuilder() {
+        final Version v = Version.parseVersion("10.0.2147483647-alpha.1+build.5");
+        assertEquals("x10.0.2147483647-alpha.1+build.5",
+                v.appendTo(new StringBuilder("x")).toString());
+        v.toString();
+        assertEquals("x10.0.2147483647-alpha.1+build.5",
+                v.appendTo(new StringBuilder("x")).toString());
+    }
+
+    @Test
+    public void testAppendToAppendable() throws Exception {
+        for (final String s : new String[] { "0.0.0", "1.20.300", "2147483647.0.9-rc.1",
+                "0.1.0+build", "0.1.0-a.b.c+build.0001" }) {
+            final Version v = Version.parseVersion(s);
+            final StringWriter w = new StringWriter();
+            w.append('>');
+            assertSame(w, v.appendTo(w));
+            assertEquals(">" + s, w.toString());
+        }
+    }
+
+    @Test
+    public void testAppendToNull() {
+        final Version v = Version.create(1, 2, 3);
+        assertThrows(IllegalArgumentException.class,
+                () -> v.appendTo((StringBuilder) null));
+        assertThrows(IllegalArgumentException.class, () -> v.appendTo((Appendable) null));
+    }
+
+    @Test
+    public void testAsciiLength() {
+        for (final String s : new String[] { "0.0.0", "1.20.300", "2147483647.0.9-rc.1",
+                "0.1.0+build", "0.1.0-a.b.c+build.0001" }) {
+            assertEquals(s.length(), Version.parseVersion(s).asciiLength());
+        }
+    }
+
+    @Test
+    public void testEncodeAsciiArray() {
+        for (final String s : new String[] { "0.0.0", "1.20.300", "2147483647.0.9-rc.1",
+                "0.1.0+build", "0.1.0-a.b.c+build.0001" }) {
+            final byte[] dst = new byte[s.length() + 2];
+            assertEquals(s.length(), Version.parseVersion(s).encodeAscii(dst, 1));
+            assertEquals(0, dst[0]);
+            assertEquals(0, dst[dst.length - 1]);
+            assertEquals(s, new String(dst, 1, s.length(), StandardCharsets.US_ASCII));
+        }
+    }
+
+    @Test
+    public void testEncodeAsciiArrayInsufficientSpace() {
+        final Version v = Version.parseVersion("1.2.3-alpha");
+        final byte[] dst = new byte[11];
+        assertThrows(IllegalArgumentException.class, () -> v.encodeAscii(dst, 1));
+        assertThrows(IllegalArgumentException.class, () -> v.encodeAscii(dst, -1));
+        assertThrows(IllegalArgumentException.class, () -> v.encodeAscii((byte[]) null, 0));
+        assertArrayEquals(new byte[11], dst);
+    }
+
+    @Test
+    public void testEncodeAsciiBuffer() {
+        for (final ByteBuffer dst : new ByteBuffer[] { ByteBuffer.allocate(64),
+                ByteBuffer.allocateDirect(64) }) {
+            dst.put((byte) 'x');
+            Version.parseVersion("10.0.2147483647-alpha.1+build.5").encodeAscii(dst);
+            Version.parseVersion("1.0.0").encodeAscii(dst);
+            dst.flip();
+            assertEquals("x10.0.2147483647-alpha.1+build.51.0.0",
+                    StandardCharsets.US_ASCII.decode(dst).toString());
+        }
+    }
+
+    @Test
+    public void testEncodeAsciiBufferInsufficientSpace() {
+        final Version v = Version.parseVersion("1.2.3-alpha");
+        final ByteBuffer dst = ByteBuffer.allocate(11);
+        dst.put((byte) 'x');
+        assertThrows(IllegalArgumentException.class, () -> v.encodeAscii(dst));
+        assertEquals(1, dst.position());
+        assertThrows(IllegalArgumentException.class, () -> v.encodeAscii((ByteBuffer) null));
+    }
+
+    @Test
+    public void testToStringAfterDeserialization() throws Exception {
+        final Version v = Version.parseVersion("1.2.3-alpha.1+build.5");
+        v.toString();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (ObjectOutputStream oout = new ObjectOutputStream(out)) {
+            oout.writeObject(v);
+        }
+        try (ObjectInputStream oin = new ObjectInputStream(
+                new ByteArrayInputStream(out.toByteArray()))) {
+            assertEquals("1.2.3-alpha.1+build.5", oin.readObject().toString());
+        }
+    }
+
     @Test
     public void testParseToStringUpperCase() {
         for (final Version v1 : SEMVER_ORG_VERSIONS) {
@@ -1031,6 +1218,158 @@ public class VersionTest {
         oin.close();
     }
 
+    @Test
+    public void testDeserialize21() throws Exception {
+        // Deserialize a file which has been written by version 2.1.x
+        final ClassLoader cl = getClass().getClassLoader();
+        final InputStream inp = cl.getResourceAsStream("versions_2.1.bin");
+        final ObjectInputStream oin = new ObjectInputStream(inp);
+        for (final Version v : SEMVER_ORG_VERSIONS) {
+            assertEquals(v, oin.readObject());
+        }
+
+        for (final Version v : SEMVER_ORG_BMD_VERSIONS) {
+            final Version read = (Version) oin.readObject();
+            assertTrue(v.equalsWithBuildMetaData(read));
+            assertEquals(v.hashCode(), read.hashCode());
+        }
+        oin.close();
+    }
+
+    @Test
+    public void testSerializeWithBuildMetaData() throws Exception {
+        final Version[] versions = {
+                Version.parseVersion("1.0.0+build.1"),
+                Version.parseVersion("1.0.0-rc.1+build.1"),
+                Version.create(1, 2, 3)
+        };
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            for (final Version v : versions) {
+                out.writeObject(v);
+            }
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()))) {
+            for (final Version v : versions) {
+                final Version read = (Version) in.readObject();
+                assertTrue(v.equalsWithBuildMetaData(read));
+                assertEquals(v.toString(), read.toString());
+            }
+        }
+    }
+
+    @Test
+    public void testDeserializeInvalid() throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(Version.parseVersion("1.2.3-abc"));
+        }
+        final byte[] bytes = bout.toByteArray();
+        final String latin = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[latin.indexOf("abc") + 1] = '$';
+
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            assertThrows(InvalidObjectException.class, in::readObject);
+        }
+    }
+
+    @Test
+    public void testLegacySerialFieldsDeclared() throws Exception {
+        // the fields of previous versions are needed to read their streams
+        final ObjectStreamClass osc = ObjectStreamClass.lookup(Version.class);
+        assertEquals(6034927062401119911L, osc.getSerialVersionUID());
+        final Set<String> fields = new HashSet<>();
+        for (final ObjectStreamField field : osc.getFields()) {
+            fields.add(field.getName() + ":" + field.getTypeString());
+        }
+        assertEquals(new HashSet<>(Arrays.asList("major:null", "minor:null",
+                "patch:null", "hash:null",
+                "preReleaseParts:[Ljava/lang/String;",
+                "buildMetaDataParts:[Ljava/lang/String;",
+                "preRelease:Ljava/lang/String;",
+                "buildMetaData:Ljava/lang/String;")), fields);
+    }
+
+    @Test
+    public void testSerializeCompactRoundTrip() throws Exception {
+        final String[] versions = {
+                "0.0.0",
+                "2147483647.2147483647.2147483647",
+                "1.0.0-0",
+                "1.0.0-alpha.1.x-y-z.0a",
+                "1.0.0-4611686018427387903.4611686018427387904",
+                "1.0.0-18446744073709551616",
+                "1.0.0+001.0.1.build",
+                "1.0.0-rc.1+00.9223372036854775807"
+        };
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            for (final String v : versions) {
+                out.writeObject(Version.parseVersion(v));
+            }
+        }
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bout.toByteArray()))) {
+            for (final String v : versions) {
+                assertEquals(v, in.readObject().toString());
+            }
+        }
+    }
+
+    @Test
+    public void testSerializedFormIsCompact() throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(Version.create(0, 0, 0));
+            final int header = bout.size();
+            for (int i = 0; i < 1000; ++i) {
+                out.writeObject(Version.create(i, 2, 3));
+            }
+            out.flush();
+            // 9 bytes of markers and class descriptor handle plus 5 or 6 bytes of content.
+            // The form of previous versions took 34 bytes per version
+            assertTrue(bout.size() - header <= 1000 * 15, "" + (bout.size() - header));
+        }
+    }
+
+    @Test
+    public void testDeserializeInvalidCompactForm() throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(Version.parseVersion("1.2.3+01.xyz"));
+        }
+        final byte[] bytes = bout.toByteArray();
+        final String latin = new String(bytes, StandardCharsets.ISO_8859_1);
+        bytes[latin.indexOf("xyz") + 1] = '$';
+
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            assertThrows(InvalidObjectException.class, in::readObject);
+        }
+    }
+
+    @Test
+    public void testDeserializeNegativeCompactCount() throws Exception {
+        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bout)) {
+            out.writeObject(Version.parseVersion("1.2.3-abcdefghij"));
+        }
+        final byte[] bytes = bout.toByteArray();
+        final String latin = new String(bytes, StandardCharsets.ISO_8859_1);
+        // replace count and header of the pre-release part with an overlong varint that
+        // would be truncated to Integer.MIN_VALUE
+        final byte[] count = { (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80,
+                (byte) 0x88, (byte) 0x80, (byte) 0x80, (byte) 0x80, (byte) 0x80, 0x01 };
+        System.arraycopy(count, 0, bytes, latin.indexOf("abcdefghij") - 2, count.length);
+
+        try (ObjectInputStream in = new ObjectInputStream(
+                new ByteArrayInputStream(bytes))) {
+            assertThrows(InvalidObjectException.class, in::readObject);
+        }
+    }
+
     @Test
     public void testEmptyArrayPreRelease() throws Exception {
         final Version v = Version.parseVersion("1.0.0");